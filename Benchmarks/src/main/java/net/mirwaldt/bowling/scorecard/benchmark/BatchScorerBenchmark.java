@@ -0,0 +1,67 @@
+package net.mirwaldt.bowling.scorecard.benchmark;
+
+import net.mirwaldt.bowling.scorecard.BatchScorer;
+import net.mirwaldt.bowling.scorecard.BowlingGame;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scoring many whole games by {@link BatchScorer} with rolling them into one {@link BowlingGame} per game.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchScorerBenchmark {
+    private static final int GAMES = 1024;
+    private static final long SEED = 42L;
+
+    @Param
+    private BowlingGameEngine engine;
+
+    @Param
+    private RollMix mix;
+
+    private int[][] games;
+    private byte[] rolls;
+    private int[] offsets;
+    private final int[] scores = new int[GAMES];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        games = mix.games(GAMES, SEED);
+        offsets = new int[GAMES + 1];
+        for (int g = 0; g < GAMES; g++) {
+            offsets[g + 1] = offsets[g] + games[g].length;
+        }
+        rolls = new byte[offsets[GAMES]];
+        for (int g = 0; g < GAMES; g++) {
+            for (int r = 0; r < games[g].length; r++) {
+                rolls[offsets[g] + r] = (byte) games[g][r];
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int[] scoreAll() {
+        BatchScorer.scoreAll(rolls, offsets, scores);
+        return scores;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int[] scoreOneByOne() {
+        for (int g = 0; g < GAMES; g++) {
+            BowlingGame game = engine.newGame();
+            for (int pins : games[g]) {
+                game.roll(pins);
+            }
+            scores[g] = game.score();
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,142 @@
+package net.mirwaldt.bowling.scorecard.benchmark;
+
+import net.mirwaldt.bowling.scorecard.BowlingGame;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static net.mirwaldt.bowling.scorecard.BowlingGame.LAST_FRAME;
+
+/**
+ * Compares the {@link BowlingGame} implementations for different mixes of rolls.
+ * Run it by {@link BowlingGameBenchmarkRunner} in order to get the allocation rate, too.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BowlingGameBenchmark {
+    private static final int GAMES = 1024;
+    private static final int MASK = GAMES - 1;
+    private static final long SEED = 42L;
+
+    @Param
+    private BowlingGameEngine engine;
+
+    @Param
+    private RollMix mix;
+
+    private int[][] games;
+    private BowlingGame[] completedGames;
+    private BowlingGame[] partialGames;
+
+    private final int[] scores = new int[LAST_FRAME];
+
+    private int gameIndex;
+    private int frame;
+
+    private BowlingGame reusedGame;
+
+    private BowlingGame rollingGame;
+    private int[] rollingRolls;
+    private int rollingIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        games = mix.games(GAMES, SEED);
+        completedGames = new BowlingGame[GAMES];
+        partialGames = new BowlingGame[GAMES];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < GAMES; i++) {
+            completedGames[i] = play(games[i], games[i].length);
+            partialGames[i] = play(games[i], random.nextInt(games[i].length + 1));
+        }
+        reusedGame = engine.newGame();
+        startRollingGame();
+    }
+
+    @Benchmark
+    public void roll() {
+        if (rollingIndex == rollingRolls.length) {
+            startRollingGame();
+        }
+        rollingGame.roll(rollingRolls[rollingIndex++]);
+    }
+
+    @Benchmark
+    public int scoreFrame() {
+        frame = (frame == LAST_FRAME) ? 1 : frame + 1;
+        return completedGames[nextGameIndex()].score(frame);
+    }
+
+    @Benchmark
+    public int score() {
+        return completedGames[nextGameIndex()].score();
+    }
+
+    @Benchmark
+    public int[] scores() {
+        completedGames[nextGameIndex()].scores(scores);
+        return scores;
+    }
+
+    @Benchmark
+    public boolean isOver() {
+        return partialGames[nextGameIndex()].isOver();
+    }
+
+    @Benchmark
+    public int playGame() {
+        int[] rolls = games[nextGameIndex()];
+        return play(rolls, rolls.length).score();
+    }
+
+    /**
+     * Plays a game in the same game object again and again, so no game is allocated.
+     */
+    @Benchmark
+    public int playGameReset() {
+        reusedGame.reset();
+        for (int pins : games[nextGameIndex()]) {
+            reusedGame.roll(pins);
+        }
+        return reusedGame.score();
+    }
+
+    /**
+     * Plays a game the way the web app does, i.e. it refreshes the whole scorecard after each roll.
+     */
+    @Benchmark
+    public void playGameWithScorecard(Blackhole blackhole) {
+        BowlingGame game = engine.newGame();
+        for (int pins : games[nextGameIndex()]) {
+            game.roll(pins);
+            for (int f = 1; f <= game.currentFrame(); f++) {
+                blackhole.consume(game.score(f));
+            }
+        }
+    }
+
+    private BowlingGame play(int[] rolls, int count) {
+        BowlingGame game = engine.newGame();
+        for (int i = 0; i < count; i++) {
+            game.roll(rolls[i]);
+        }
+        return game;
+    }
+
+    private void startRollingGame() {
+        rollingGame = engine.newGame();
+        rollingRolls = games[nextGameIndex()];
+        rollingIndex = 0;
+    }
+
+    private int nextGameIndex() {
+        gameIndex = (gameIndex + 1) & MASK;
+        return gameIndex;
+    }
+}
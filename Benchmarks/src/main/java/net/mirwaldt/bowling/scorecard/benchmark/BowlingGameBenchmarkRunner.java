@@ -0,0 +1,27 @@
+package net.mirwaldt.bowling.scorecard.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler so that the allocation rate is reported next to the throughput.
+ * The usual JMH command line options can be given to narrow down the run, e.g. "BatchScorer -p engine=LAZY".
+ * Without a benchmark on the command line all benchmarks of this package are run.
+ */
+public class BowlingGameBenchmarkRunner {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include(BowlingGameBenchmarkRunner.class.getPackage().getName());
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,35 @@
+package net.mirwaldt.bowling.scorecard.benchmark;
+
+import net.mirwaldt.bowling.scorecard.BowlingGame;
+import net.mirwaldt.bowling.scorecard.BowlingGameListener;
+import net.mirwaldt.bowling.scorecard.ConcurrentBowlingGame;
+import net.mirwaldt.bowling.scorecard.EagerScoringBowlingGame;
+import net.mirwaldt.bowling.scorecard.LazyScoringBowlingGame;
+import net.mirwaldt.bowling.scorecard.NotifyingBowlingGame;
+import net.mirwaldt.bowling.scorecard.PackedBowlingGame;
+import net.mirwaldt.bowling.scorecard.TableDrivenBowlingGame;
+
+import java.util.function.Supplier;
+
+/**
+ * The {@link BowlingGame} implementations which are compared by the benchmarks.
+ */
+public enum BowlingGameEngine {
+    EAGER(EagerScoringBowlingGame::new),
+    LAZY(LazyScoringBowlingGame::new),
+    PACKED(PackedBowlingGame::new),
+    TABLE_DRIVEN(TableDrivenBowlingGame::new),
+    CONCURRENT(ConcurrentBowlingGame::new),
+    NOTIFYING(() -> new NotifyingBowlingGame(new BowlingGameListener() {
+    }));
+
+    private final Supplier<BowlingGame> factory;
+
+    BowlingGameEngine(Supplier<BowlingGame> factory) {
+        this.factory = factory;
+    }
+
+    public BowlingGame newGame() {
+        return factory.get();
+    }
+}
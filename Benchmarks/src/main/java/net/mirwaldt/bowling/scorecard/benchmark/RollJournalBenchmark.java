@@ -0,0 +1,62 @@
+package net.mirwaldt.bowling.scorecard.benchmark;
+
+import net.mirwaldt.bowling.scorecard.journal.RollJournal;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Measures how many rolls per second become durable when many lanes wait for the journal at the same time.
+ * Many threads share one fsync per batch, so the throughput grows with the number of threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class RollJournalBenchmark {
+    private final AtomicLong lanes = new AtomicLong();
+
+    private Path directory;
+    private RollJournal journal;
+
+    @State(Scope.Thread)
+    public static class Lane {
+        private long gameId;
+        private int sequence;
+
+        @Setup(Level.Trial)
+        public void setUp(RollJournalBenchmark benchmark) {
+            gameId = benchmark.lanes.getAndIncrement();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("roll-journal");
+        journal = RollJournal.open(directory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        journal.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void appendDurably(Lane lane) {
+        journal.append(lane.gameId, lane.sequence++, 4).join();
+    }
+}
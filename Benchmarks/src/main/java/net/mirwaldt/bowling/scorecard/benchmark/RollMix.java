@@ -0,0 +1,83 @@
+package net.mirwaldt.bowling.scorecard.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static net.mirwaldt.bowling.scorecard.BowlingGame.LAST_FRAME;
+import static net.mirwaldt.bowling.scorecard.BowlingGame.MAX_PINS;
+
+/**
+ * The roll sequences of complete games which are fed into the benchmarks.
+ */
+public enum RollMix {
+    ALL_STRIKES {
+        @Override
+        int[] game(SplittableRandom random) {
+            int[] rolls = new int[12];
+            Arrays.fill(rolls, MAX_PINS);
+            return rolls;
+        }
+    },
+    ALL_SPARES {
+        @Override
+        int[] game(SplittableRandom random) {
+            int[] rolls = new int[21];
+            for (int i = 0; i < rolls.length - 1; i += 2) {
+                int firstRoll = random.nextInt(MAX_PINS);
+                rolls[i] = firstRoll;
+                rolls[i + 1] = MAX_PINS - firstRoll;
+            }
+            rolls[rolls.length - 1] = random.nextInt(MAX_PINS + 1);
+            return rolls;
+        }
+    },
+    GUTTER {
+        @Override
+        int[] game(SplittableRandom random) {
+            return new int[20];
+        }
+    },
+    RANDOM {
+        @Override
+        int[] game(SplittableRandom random) {
+            int[] rolls = new int[21];
+            int roll = 0;
+            for (int frame = 1; frame < LAST_FRAME; frame++) {
+                int firstRoll = random.nextInt(MAX_PINS + 1);
+                rolls[roll++] = firstRoll;
+                if (firstRoll < MAX_PINS) {
+                    rolls[roll++] = random.nextInt(MAX_PINS - firstRoll + 1);
+                }
+            }
+
+            int firstRoll = random.nextInt(MAX_PINS + 1);
+            rolls[roll++] = firstRoll;
+            int secondRoll = random.nextInt(((firstRoll < MAX_PINS) ? MAX_PINS - firstRoll : MAX_PINS) + 1);
+            rolls[roll++] = secondRoll;
+            if (firstRoll == MAX_PINS) {
+                rolls[roll++] = random.nextInt(((secondRoll < MAX_PINS) ? MAX_PINS - secondRoll : MAX_PINS) + 1);
+            } else if (firstRoll + secondRoll == MAX_PINS) {
+                rolls[roll++] = random.nextInt(MAX_PINS + 1);
+            }
+            return Arrays.copyOf(rolls, roll);
+        }
+    };
+
+    abstract int[] game(SplittableRandom random);
+
+    /**
+     * Creates the roll sequences of complete games.
+     *
+     * @param count the number of games
+     * @param seed  the seed of the random generator so that runs are comparable
+     * @return the roll sequences, one per game
+     */
+    public int[][] games(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[][] games = new int[count][];
+        for (int i = 0; i < count; i++) {
+            games[i] = game(random);
+        }
+        return games;
+    }
+}
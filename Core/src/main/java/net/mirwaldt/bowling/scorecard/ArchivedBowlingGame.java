@@ -0,0 +1,81 @@
+package net.mirwaldt.bowling.scorecard;
+
+/**
+ * A read-only view on a game of a {@link BowlingGameArchive}.
+ * It reads like a {@link BowlingGame} which is over but it is none, because an archived game cannot be changed.
+ * A game to change, e.g. to undo its last rolls, is copied by {@link #toPackedGame()}.
+ * The view can be moved to another game of the archive to read many games without creating a view per game.
+ */
+public class ArchivedBowlingGame {
+    private final BowlingGameArchive archive;
+    private final PackedBowlingGame game = new PackedBowlingGame();
+    private long index;
+
+    ArchivedBowlingGame(BowlingGameArchive archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * Moves the view to the game with the given index.
+     */
+    public void moveTo(long index) {
+        archive.load(index, game);
+        this.index = index;
+    }
+
+    public long index() {
+        return index;
+    }
+
+    public boolean isPreviousRollStrike() {
+        return game.isPreviousRollStrike();
+    }
+
+    public boolean isPreviousFrameSpare() {
+        return game.isPreviousFrameSpare();
+    }
+
+    public int currentFrame() {
+        return game.currentFrame();
+    }
+
+    public int currentRollInFrame() {
+        return game.currentRollInFrame();
+    }
+
+    public int score(int frame) {
+        return game.score(frame);
+    }
+
+    public int score() {
+        return game.score();
+    }
+
+    public int scores(int[] scores) {
+        return game.scores(scores);
+    }
+
+    public boolean isOver() {
+        return true;
+    }
+
+    public int changedFrames() {
+        return game.changedFrames();
+    }
+
+    /**
+     * Takes an immutable copy of the rolls in constant time, e.g. to restore them in another game.
+     */
+    public BowlingGameSnapshot snapshot() {
+        return game.snapshot();
+    }
+
+    /**
+     * Copies the game into a new game which can be changed without changing the archive.
+     */
+    public PackedBowlingGame toPackedGame() {
+        PackedBowlingGame copy = new PackedBowlingGame();
+        copy.restore(game.snapshot());
+        return copy;
+    }
+}
@@ -1,5 +1,7 @@
 package net.mirwaldt.bowling.scorecard;
 
+import java.util.Arrays;
+
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static net.mirwaldt.bowling.scorecard.BowlingGame.*;
@@ -15,8 +17,19 @@ public class ArrayBowlingGameRecorder implements BowlingGameRollRecorder {
 
     @Override
     public void roll(int pins) {
-        checkRange(pins);
-        checkTooManyPins(pins);
+        int status = tryRoll(pins);
+        if (status != ROLL_OK) {
+            throw invalidRoll(status, pins, (rolls == 0) ? 0 : firstRoll(currentFrame()));
+        }
+    }
+
+    @Override
+    public int tryRoll(int pins) {
+        if (!isInRange(pins)) {
+            return ROLL_OUT_OF_RANGE;
+        } else if (isTooManyPinsInFrame(pins)) {
+            return ROLL_FRAME_OVERFLOW;
+        }
 
         setPins(pins);
         if (isBeforeLastFrame(nextFrame()) && isFirstRoll() && isStrike(pins)) {
@@ -24,6 +37,7 @@ public class ArrayBowlingGameRecorder implements BowlingGameRollRecorder {
         } else {
             turnToNextRoll();
         }
+        return ROLL_OK;
     }
 
     @Override
@@ -71,6 +85,54 @@ public class ArrayBowlingGameRecorder implements BowlingGameRollRecorder {
         return rolled[rolls - 1];
     }
 
+    @Override
+    public void reset() {
+        Arrays.fill(rolled, 0);
+        rolls = 0;
+    }
+
+    @Override
+    public BowlingGameSnapshot snapshot() {
+        long low = 0;
+        long high = 0;
+        for (int slot = 0; slot < PackedBowlingGame.SLOTS_IN_LOW; slot++) {
+            low |= (long) rolled[slot] << (slot * PackedBowlingGame.BITS_PER_SLOT);
+        }
+        for (int slot = PackedBowlingGame.SLOTS_IN_LOW; slot < MAX_ROLLS_WITH_BONUS; slot++) {
+            high |= (long) rolled[slot] << ((slot - PackedBowlingGame.SLOTS_IN_LOW) * PackedBowlingGame.BITS_PER_SLOT);
+        }
+        return new BowlingGameSnapshot(low, high | ((long) rolls << PackedBowlingGame.ROLLS_SHIFT));
+    }
+
+    @Override
+    public void restore(BowlingGameSnapshot snapshot) {
+        for (int slot = 0; slot < MAX_ROLLS_WITH_BONUS; slot++) {
+            rolled[slot] = PackedBowlingGame.pins(snapshot.low(), snapshot.high(), slot);
+        }
+        rolls = PackedBowlingGame.rolls(snapshot.high());
+    }
+
+    @Override
+    public void undoLastRoll() {
+        if (rolls == 0) {
+            throw new IllegalStateException("There is no roll to undo!");
+        }
+        int slot = PackedBowlingGame.previousSlot(rolls, (rolls < 2) ? 0 : rolled[rolls - 2]);
+        rolled[slot] = 0;
+        rolls = slot;
+    }
+
+    @Override
+    public int changedFrames() {
+        if (rolls == 0) {
+            return 0;
+        }
+        int slot = PackedBowlingGame.previousSlot(rolls, (rolls < 2) ? 0 : rolled[rolls - 2]);
+        int firstSlot = PackedBowlingGame.firstSlotOfFrame(slot);
+        return PackedBowlingGame.changedFrames(slot, (firstSlot < 2) ? 0 : rolled[firstSlot - 2],
+                (firstSlot < 2) ? 0 : rolled[firstSlot - 1], (firstSlot < 4) ? 0 : rolled[firstSlot - 4]);
+    }
+
     private int index(int frame) {
         return (frame - 1) * 2;
     }
@@ -99,13 +161,10 @@ public class ArrayBowlingGameRecorder implements BowlingGameRollRecorder {
         rolls += 2;
     }
 
-    private void checkTooManyPins(int pins) {
-        if (isSecondRoll(nextRollInFrame())
+    private boolean isTooManyPinsInFrame(int pins) {
+        return isSecondRoll(nextRollInFrame())
                 && !isStrike(firstRoll(currentFrame()))
-                && isTooManyPins(firstRoll(currentFrame()) + pins)) {
-            throw new IllegalArgumentException("The sum of pins within a frame must be at most 10 but not "
-                    + firstRoll(currentFrame()) + " + " + pins + " = " + (firstRoll(currentFrame()) + pins));
-        }
+                && isTooManyPins(firstRoll(currentFrame()) + pins);
     }
 
     private int nextRollInFrame() {
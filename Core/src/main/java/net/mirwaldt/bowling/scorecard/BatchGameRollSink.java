@@ -0,0 +1,111 @@
+package net.mirwaldt.bowling.scorecard;
+
+import static java.lang.Math.min;
+import static net.mirwaldt.bowling.scorecard.BowlingGameValidator.isValid;
+import static net.mirwaldt.bowling.scorecard.BowlingGameValidator.validate;
+
+/**
+ * Collects the valid games from a {@link GameRollSink} into batches which are scored by {@link BatchScorer}.
+ * Every game is checked by {@link BowlingGameValidator} first.
+ * The listener gets the games in the order of their rolls, i.e. a batch is passed before an invalid game which follows it.
+ * The arrays of a batch are reused for the next batch.
+ */
+public class BatchGameRollSink implements GameRollSink {
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    /**
+     * The result passed for a game which cannot be read at all.
+     */
+    public static final long UNREADABLE = Long.MIN_VALUE;
+
+    private static final int MAX_ROLLS_IN_GAME = 21;
+
+    /**
+     * A game with more rolls is invalid anyway and the first rolls are enough to find the first invalid roll.
+     */
+    private static final int MAX_BUFFERED_ROLLS = MAX_ROLLS_IN_GAME + 1;
+
+    public interface Listener {
+        /**
+         * Receives the games from index 0 (inclusive) to index games (exclusive) stored like for {@link BatchScorer}.
+         */
+        void scored(byte[] rolls, int[] offsets, int[] scores, int games);
+
+        /**
+         * Receives an invalid game.
+         *
+         * @param result the result of {@link BowlingGameValidator} or {@link #UNREADABLE}
+         */
+        void invalid(long result);
+    }
+
+    private final Listener listener;
+    private final int[] game = new int[MAX_BUFFERED_ROLLS];
+    private final byte[] rolls;
+    private final int[] offsets;
+    private final int[] scores;
+    private int rollCount;
+    private int games;
+
+    public BatchGameRollSink(Listener listener) {
+        this(listener, DEFAULT_BATCH_SIZE);
+    }
+
+    public BatchGameRollSink(Listener listener, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1 but not " + batchSize);
+        }
+        this.listener = listener;
+        this.rolls = new byte[batchSize * MAX_ROLLS_IN_GAME];
+        this.offsets = new int[batchSize + 1];
+        this.scores = new int[batchSize];
+    }
+
+    @Override
+    public void roll(int pins) {
+        if (rollCount < MAX_BUFFERED_ROLLS) {
+            game[rollCount] = pins;
+        }
+        rollCount++;
+    }
+
+    @Override
+    public void endGame() {
+        long result = validate(game, 0, min(rollCount, MAX_BUFFERED_ROLLS));
+        if (isValid(result)) {
+            int offset = offsets[games];
+            for (int r = 0; r < rollCount; r++) {
+                rolls[offset + r] = (byte) game[r];
+            }
+            offsets[++games] = offset + rollCount;
+            if (games == scores.length) {
+                flush();
+            }
+        } else {
+            invalid(result);
+        }
+        rollCount = 0;
+    }
+
+    @Override
+    public void invalidGame() {
+        invalid(UNREADABLE);
+        rollCount = 0;
+    }
+
+    /**
+     * Scores and passes the games collected so far.
+     */
+    public void flush() {
+        if (0 < games) {
+            BatchScorer.scoreAll(rolls, offsets, scores, 0, games);
+            listener.scored(rolls, offsets, scores, games);
+            games = 0;
+        }
+    }
+
+    private void invalid(long result) {
+        flush();
+        listener.invalid(result);
+    }
+}
@@ -0,0 +1,56 @@
+package net.mirwaldt.bowling.scorecard;
+
+import static net.mirwaldt.bowling.scorecard.BowlingGame.LAST_FRAME;
+import static net.mirwaldt.bowling.scorecard.BowlingGame.MAX_PINS;
+
+/**
+ * Scores many whole games at once without a {@link BowlingGame} per game.
+ * The rolls of all games are stored one after another in one array and
+ * the rolls of game g are from index offsets[g] (inclusive) to offsets[g + 1] (exclusive).
+ * The games must be valid, e.g. checked by {@link BowlingGameValidator} before.
+ */
+public class BatchScorer {
+    private BatchScorer() {
+        // Util methods only
+    }
+
+    /**
+     * Scores all games.
+     *
+     * @param rolls   the rolls of all games
+     * @param offsets the start indices of the games followed by the end index of the last game
+     * @param scores  the array which receives the score of game g at index g
+     */
+    public static void scoreAll(byte[] rolls, int[] offsets, int[] scores) {
+        scoreAll(rolls, offsets, scores, 0, offsets.length - 1);
+    }
+
+    /**
+     * Scores the games from index fromGame (inclusive) to index toGame (exclusive).
+     */
+    public static void scoreAll(byte[] rolls, int[] offsets, int[] scores, int fromGame, int toGame) {
+        for (int g = fromGame; g < toGame; g++) {
+            scores[g] = score(rolls, offsets[g]);
+        }
+    }
+
+    /**
+     * Scores the game whose first roll is at index from.
+     */
+    public static int score(byte[] rolls, int from) {
+        int score = 0;
+        int i = from;
+        for (int frame = 1; frame <= LAST_FRAME; frame++) {
+            int firstRoll = rolls[i];
+            if (firstRoll == MAX_PINS) {
+                score += MAX_PINS + rolls[i + 1] + rolls[i + 2];
+                i++;
+            } else {
+                int pins = firstRoll + rolls[i + 1];
+                score += (pins == MAX_PINS) ? MAX_PINS + rolls[i + 2] : pins;
+                i += 2;
+            }
+        }
+        return score;
+    }
+}
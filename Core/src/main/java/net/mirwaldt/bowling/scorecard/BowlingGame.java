@@ -10,15 +10,68 @@ public interface BowlingGame {
     int SECOND_ROLL_IN_FRAME = 2;
     int BONUS_ROLL_IN_FRAME = 3;
 
+    int ROLL_OK = 0;
+    int ROLL_OUT_OF_RANGE = 1;
+    int ROLL_FRAME_OVERFLOW = 2;
+    int ROLL_GAME_OVER = 3;
+
     void roll(int pins);
+
+    /**
+     * Rolls like {@link #roll(int)} but reports an invalid roll by its status instead of an exception.
+     * An invalid roll leaves the game unchanged.
+     *
+     * @return {@link #ROLL_OK} or the reason why the roll is invalid
+     */
+    int tryRoll(int pins);
     boolean isPreviousRollStrike();
     boolean isPreviousFrameSpare();
     int currentFrame();
     int currentRollInFrame();
     int score(int frame);
     int score();
+
+    /**
+     * Writes the scores of all frames played so far in one pass.
+     *
+     * @param scores the array which receives the score of frame f at index f - 1, at least 10 long for a whole game
+     * @return the number of frames written, i.e. the current frame
+     */
+    int scores(int[] scores);
     boolean isOver();
 
+    /**
+     * Returns the frames whose scores have been changed by the last roll as a bitmask with bit f - 1 for frame f.
+     * These are the frame of the roll and the frames before which get the roll as bonus, i.e. at most three frames.
+     * Since the score of a frame adds up the frames before, the frames are a range up to the frame of the roll.
+     * After {@link #undoLastRoll()} or {@link #restore(BowlingGameSnapshot)} the last roll is the one before.
+     *
+     * @return the bitmask of the changed frames, 0 if there is no roll
+     */
+    int changedFrames();
+
+    /**
+     * Starts a new game without rolls so that the game object can be reused without allocating a new one.
+     */
+    void reset();
+
+    /**
+     * Takes an immutable copy of the rolls in constant time, e.g. to fork the game or to go back to it later.
+     */
+    BowlingGameSnapshot snapshot();
+
+    /**
+     * Continues the game from a snapshot which may have been taken from another game.
+     */
+    void restore(BowlingGameSnapshot snapshot);
+
+    /**
+     * Takes back the last roll.
+     *
+     * @throws IllegalStateException if there is no roll
+     */
+    void undoLastRoll();
+
 
     static boolean isFrame(int frame) {
         return 1 <= frame && frame <= LAST_FRAME;
@@ -30,6 +83,10 @@ public interface BowlingGame {
         return frame == LAST_FRAME;
     }
 
+    static boolean isChangedFrame(int changedFrames, int frame) {
+        return (changedFrames & (1 << (frame - 1))) != 0;
+    }
+
     static boolean isFirstRoll(int rollInFrame) {
         return rollInFrame == FIRST_ROLL_IN_FRAME;
     }
@@ -58,9 +115,29 @@ public interface BowlingGame {
         return MAX_PINS < pins;
     }
 
+    static boolean isInRange(int pins) {
+        return !isTooFewPins(pins) && !isTooManyPins(pins);
+    }
+
     static void checkRange(int pins) {
-        if (isTooFewPins(pins) || isTooManyPins(pins)) {
+        if (!isInRange(pins)) {
             throw new IllegalArgumentException("The number of pins must be at least 0 and at most 10 but not " + pins);
         }
     }
+
+    /**
+     * Creates the exception which {@link #roll(int)} throws for a status of {@link #tryRoll(int)} other than ok.
+     *
+     * @param firstRoll the pins of the first roll in the current frame
+     */
+    static RuntimeException invalidRoll(int status, int pins, int firstRoll) {
+        if (status == ROLL_GAME_OVER) {
+            return new IllegalStateException("Game is over!");
+        } else if (status == ROLL_OUT_OF_RANGE) {
+            return new IllegalArgumentException("The number of pins must be at least 0 and at most 10 but not " + pins);
+        } else {
+            return new IllegalArgumentException("The sum of pins within a frame must be at most 10 but not "
+                    + firstRoll + " + " + pins + " = " + (firstRoll + pins));
+        }
+    }
 }
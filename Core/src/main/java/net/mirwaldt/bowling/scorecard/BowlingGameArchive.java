@@ -0,0 +1,111 @@
+package net.mirwaldt.bowling.scorecard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static java.lang.Math.min;
+
+/**
+ * Reads the games of an archive file written by {@link BowlingGameArchiveWriter}.
+ * The file is memory-mapped and every game can be read by its index in constant time without deserialization.
+ * <p>
+ * The file starts with a header of 16 bytes in little endian:
+ * <p>
+ * magic (4 bytes) | version (2 bytes) | record size (2 bytes) | number of games (8 bytes)
+ * <p>
+ * Then the games follow as records of 11 bytes. A record holds the 21 slots of a game which is over
+ * like {@link PackedBowlingGame} as nibbles where slot s is in byte s / 2, the even slots in the lower nibbles.
+ * The number of slots used is not stored because it follows from the last frame.
+ * <p>
+ * The mapped memory is released when the buffers are garbage-collected, not by {@link #close()}.
+ */
+public class BowlingGameArchive implements AutoCloseable {
+    static final int MAGIC = 0x474C5742;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = (PackedBowlingGame.SLOTS + 1) / 2;
+    static final int GAMES_OFFSET = 8;
+
+    private static final long SLOTS_IN_HIGH_MASK = (1L << PackedBowlingGame.ROLLS_SHIFT) - 1;
+
+    private final FileChannel channel;
+    private final long games;
+    private final int gamesPerChunk;
+    private final MappedByteBuffer[] chunks;
+
+    private BowlingGameArchive(FileChannel channel, long games, int gamesPerChunk) throws IOException {
+        this.channel = channel;
+        this.games = games;
+        this.gamesPerChunk = gamesPerChunk;
+        this.chunks = new MappedByteBuffer[(int) ((games + gamesPerChunk - 1) / gamesPerChunk)];
+        for (int c = 0; c < chunks.length; c++) {
+            long firstGame = (long) c * gamesPerChunk;
+            long size = min(gamesPerChunk, games - firstGame) * RECORD_SIZE;
+            chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + firstGame * RECORD_SIZE, size);
+            chunks[c].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    public static BowlingGameArchive open(Path file) throws IOException {
+        return open(file, Integer.MAX_VALUE / RECORD_SIZE);
+    }
+
+    static BowlingGameArchive open(Path file, int gamesPerChunk) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && 0 <= channel.read(header)) {
+                // Read the whole header
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException("The file is no bowling game archive: " + file);
+            } else if (header.getShort(4) != VERSION || header.getShort(6) != RECORD_SIZE) {
+                throw new IOException("The version " + header.getShort(4) + " of the archive is not supported: " + file);
+            }
+            long games = header.getLong(GAMES_OFFSET);
+            if (games < 0 || (channel.size() - HEADER_SIZE) / RECORD_SIZE < games) {
+                throw new IOException("The archive is too short for " + games + " games: " + file);
+            }
+            return new BowlingGameArchive(channel, games, gamesPerChunk);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long games() {
+        return games;
+    }
+
+    /**
+     * Creates a read-only view on the game with the given index.
+     */
+    public ArchivedBowlingGame game(long index) {
+        ArchivedBowlingGame game = new ArchivedBowlingGame(this);
+        game.moveTo(index);
+        return game;
+    }
+
+    void load(long index, PackedBowlingGame game) {
+        if (index < 0 || games <= index) {
+            throw new IndexOutOfBoundsException("The index must be at least 0 and less than " + games + " but not " + index);
+        }
+        MappedByteBuffer chunk = chunks[(int) (index / gamesPerChunk)];
+        int offset = (int) (index % gamesPerChunk) * RECORD_SIZE;
+        long low = chunk.getLong(offset);
+        long slotsInHigh = (chunk.get(offset + 8) & 0xFFL)
+                | (chunk.get(offset + 9) & 0xFFL) << 8
+                | (chunk.get(offset + 10) & 0xFFL) << 16;
+        game.load(low, PackedBowlingGame.highOfOverGame(slotsInHigh & SLOTS_IN_HIGH_MASK));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,111 @@
+package net.mirwaldt.bowling.scorecard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static net.mirwaldt.bowling.scorecard.BowlingGameArchive.*;
+
+/**
+ * Writes games which are over to an archive file in the format described in {@link BowlingGameArchive}.
+ * The number of games in the header is written by {@link #close()}.
+ */
+public class BowlingGameArchiveWriter implements AutoCloseable {
+    private static final int GAMES_PER_BUFFER = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(GAMES_PER_BUFFER * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private long games;
+
+    /**
+     * Creates the archive file or replaces an existing one.
+     */
+    public BowlingGameArchiveWriter(Path file) throws IOException {
+        channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        channel.position(HEADER_SIZE);
+    }
+
+    /**
+     * Writes a whole game given by its rolls.
+     *
+     * @throws IllegalArgumentException if the rolls are no valid whole game
+     */
+    public void write(int[] rolls) throws IOException {
+        long result = BowlingGameValidator.validate(rolls);
+        if (!BowlingGameValidator.isValid(result)) {
+            throw new IllegalArgumentException("The rolls are no valid whole game, the first invalid roll has index "
+                    + BowlingGameValidator.invalidIndex(result));
+        }
+
+        int record = nextRecord();
+        int slot = 0;
+        for (int pins : rolls) {
+            int index = record + slot / 2;
+            buffer.put(index, (byte) (buffer.get(index) | pins << ((slot % 2) * 4)));
+            slot = PackedBowlingGame.nextSlot(slot, pins);
+        }
+    }
+
+    /**
+     * Writes a game which is over.
+     *
+     * @throws IllegalArgumentException if the game is not over
+     */
+    public void write(PackedBowlingGame game) throws IOException {
+        if (!game.isOver()) {
+            throw new IllegalArgumentException("Only a game which is over can be archived.");
+        }
+
+        int record = nextRecord();
+        long high = game.high();
+        buffer.putLong(record, game.low());
+        buffer.put(record + 8, (byte) high);
+        buffer.put(record + 9, (byte) (high >>> 8));
+        buffer.put(record + 10, (byte) ((high >>> 16) & 0xF));
+    }
+
+    public long games() {
+        return games;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE).putLong(games).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Clears the next record in the buffer and returns its offset.
+     */
+    private int nextRecord() throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        int record = buffer.position();
+        for (int i = 0; i < RECORD_SIZE; i++) {
+            buffer.put((byte) 0);
+        }
+        games++;
+        return record;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
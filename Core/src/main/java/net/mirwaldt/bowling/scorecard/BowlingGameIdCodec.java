@@ -0,0 +1,154 @@
+package net.mirwaldt.bowling.scorecard;
+
+import static net.mirwaldt.bowling.scorecard.BowlingGame.*;
+
+/**
+ * Maps every valid game, whole or not, to a dense id from 0 (inclusive) to {@link #COUNT} (exclusive) and back.
+ * The games are ordered like words in a dictionary by their rolls, so the game without rolls has the id 0.
+ * The ids are computed by the number of games which can follow each state of {@link TableDrivenBowlingGame}.
+ */
+public class BowlingGameIdCodec {
+    private static final int PINS = MAX_PINS + 1;
+
+    /**
+     * The number of games per state including the game which stops in the state.
+     */
+    private static final long[] COUNTS;
+
+    /**
+     * The number of games per state and pins which follow the state by a roll of fewer pins.
+     * There is one column for each pins from 0 to 11.
+     */
+    private static final long[] OFFSETS;
+
+    /**
+     * The number of all valid games, whole or not.
+     */
+    public static final long COUNT;
+
+    static {
+        int states = TableDrivenBowlingGame.stateCount();
+        COUNTS = new long[states];
+        OFFSETS = new long[states * (PINS + 1)];
+        for (int stateId = states - 1; 0 <= stateId; stateId--) {
+            count(stateId);
+        }
+        COUNT = COUNTS[TableDrivenBowlingGame.INITIAL_STATE_ID];
+    }
+
+    private BowlingGameIdCodec() {
+        // Util methods only
+    }
+
+    public static long encode(int[] rolls) {
+        return encode(rolls, 0, rolls.length);
+    }
+
+    /**
+     * Encodes the rolls from index from (inclusive) to index to (exclusive).
+     *
+     * @throws IllegalArgumentException if the rolls are no valid game
+     */
+    public static long encode(int[] rolls, int from, int to) {
+        int stateId = TableDrivenBowlingGame.INITIAL_STATE_ID;
+        long id = 0;
+        for (int i = from; i < to; i++) {
+            int pins = rolls[i];
+            int nextStateId = isInRange(pins) ? TableDrivenBowlingGame.nextStateId(stateId, pins) : -1;
+            if (nextStateId < 0) {
+                throw new IllegalArgumentException("The rolls are no valid game, the first invalid roll has index " + i);
+            }
+            id += 1 + OFFSETS[stateId * (PINS + 1) + pins];
+            stateId = nextStateId;
+        }
+        return id;
+    }
+
+    public static long encode(PackedBowlingGame game) {
+        int stateId = TableDrivenBowlingGame.INITIAL_STATE_ID;
+        long id = 0;
+        int rolls = game.rolls();
+        for (int slot = 0; slot < rolls; slot = PackedBowlingGame.nextSlot(slot, game.pins(slot))) {
+            int pins = game.pins(slot);
+            id += 1 + OFFSETS[stateId * (PINS + 1) + pins];
+            stateId = TableDrivenBowlingGame.nextStateId(stateId, pins);
+        }
+        return id;
+    }
+
+    /**
+     * Decodes the rolls of a game.
+     *
+     * @param rolls the array which receives the rolls, at least 21 long for a whole game
+     * @return the number of rolls
+     */
+    public static int decode(long id, int[] rolls) {
+        checkId(id);
+        int stateId = TableDrivenBowlingGame.INITIAL_STATE_ID;
+        int roll = 0;
+        while (0 < id) {
+            id--;
+            int pins = pins(stateId, id);
+            id -= OFFSETS[stateId * (PINS + 1) + pins];
+            rolls[roll++] = pins;
+            stateId = TableDrivenBowlingGame.nextStateId(stateId, pins);
+        }
+        return roll;
+    }
+
+    /**
+     * Decodes a game straight into the slots of a {@link PackedBowlingGame} without rolling.
+     */
+    public static PackedBowlingGame decode(long id) {
+        checkId(id);
+        int stateId = TableDrivenBowlingGame.INITIAL_STATE_ID;
+        long low = 0;
+        long high = 0;
+        int slot = 0;
+        while (0 < id) {
+            id--;
+            int pins = pins(stateId, id);
+            id -= OFFSETS[stateId * (PINS + 1) + pins];
+            if (slot < PackedBowlingGame.SLOTS_IN_LOW) {
+                low |= (long) pins << (slot * PackedBowlingGame.BITS_PER_SLOT);
+            } else {
+                high |= (long) pins << ((slot - PackedBowlingGame.SLOTS_IN_LOW) * PackedBowlingGame.BITS_PER_SLOT);
+            }
+            slot = PackedBowlingGame.nextSlot(slot, pins);
+            stateId = TableDrivenBowlingGame.nextStateId(stateId, pins);
+        }
+        return new PackedBowlingGame(low, high | ((long) slot << PackedBowlingGame.ROLLS_SHIFT));
+    }
+
+    private static int pins(int stateId, long id) {
+        int offsets = stateId * (PINS + 1);
+        int pins = 0;
+        while (OFFSETS[offsets + pins + 1] <= id) {
+            pins++;
+        }
+        return pins;
+    }
+
+    private static void checkId(long id) {
+        if (id < 0 || COUNT <= id) {
+            throw new IllegalArgumentException("The id must be at least 0 and less than " + COUNT + " but not " + id);
+        }
+    }
+
+    private static long count(int stateId) {
+        if (COUNTS[stateId] == 0) {
+            int offsets = stateId * (PINS + 1);
+            long count = 0;
+            for (int pins = 0; pins < PINS; pins++) {
+                OFFSETS[offsets + pins] = count;
+                int nextStateId = TableDrivenBowlingGame.nextStateId(stateId, pins);
+                if (0 <= nextStateId) {
+                    count = Math.addExact(count, count(nextStateId));
+                }
+            }
+            OFFSETS[offsets + PINS] = count;
+            COUNTS[stateId] = Math.addExact(count, 1);
+        }
+        return COUNTS[stateId];
+    }
+}
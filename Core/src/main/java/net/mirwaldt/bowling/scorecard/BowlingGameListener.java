@@ -0,0 +1,42 @@
+package net.mirwaldt.bowling.scorecard;
+
+/**
+ * Is told by a {@link NotifyingBowlingGame} what a roll has changed, so that it does not need to poll
+ * {@link BowlingGame#score(int)} and the flags of the game after every roll.
+ * The callbacks only take primitives, so no event object is allocated per roll.
+ * All callbacks do nothing by default, so a listener only implements the ones it needs.
+ */
+public interface BowlingGameListener {
+    /**
+     * Is called first after every valid roll.
+     */
+    default void onRoll(int frame, int rollInFrame, int pins) {
+    }
+
+    /**
+     * Is called for every strike, i.e. for up to three strikes in the last frame.
+     */
+    default void onStrike(int frame) {
+    }
+
+    /**
+     * Is called for every spare, i.e. also for a spare by the second and the bonus roll in the last frame.
+     */
+    default void onSpare(int frame) {
+    }
+
+    /**
+     * Is called once per frame as soon as its score is final, i.e. when all of its bonus rolls have been rolled.
+     * The frames are scored in their order.
+     *
+     * @param score the score up to and including the frame
+     */
+    default void onFrameScored(int frame, int score) {
+    }
+
+    /**
+     * Is called after the last frame has been scored.
+     */
+    default void onGameOver(int score) {
+    }
+}
@@ -0,0 +1,75 @@
+package net.mirwaldt.bowling.scorecard;
+
+import java.util.function.Supplier;
+
+/**
+ * Reuses games for workloads which play many games one after another, e.g. a batch of stored games.
+ * A released game is reset and handed out again by {@link #acquire()}, so no game is allocated
+ * once the pool holds as many games as are used at the same time.
+ * <p>
+ * The pool is not thread-safe and is meant to be confined to one thread, e.g. by a {@link ThreadLocal}.
+ */
+public class BowlingGamePool<G extends BowlingGame> {
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final Supplier<? extends G> factory;
+    private final BowlingGame[] games;
+    private int size;
+
+    public BowlingGamePool(Supplier<? extends G> factory) {
+        this(factory, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the number of released games which are kept for reuse
+     */
+    public BowlingGamePool(Supplier<? extends G> factory, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1 but not " + capacity);
+        }
+        this.factory = factory;
+        this.games = new BowlingGame[capacity];
+    }
+
+    /**
+     * Returns a game without rolls, either a released one or a new one.
+     */
+    @SuppressWarnings("unchecked")
+    public G acquire() {
+        if (0 < size) {
+            G game = (G) games[--size];
+            games[size] = null;
+            return game;
+        }
+        return factory.get();
+    }
+
+    /**
+     * Resets the game and keeps it for reuse unless the pool is full.
+     */
+    public void release(G game) {
+        game.reset();
+        if (size < games.length) {
+            games[size++] = game;
+        }
+    }
+
+    /**
+     * Plays the rolls in a game of the pool and returns its score.
+     */
+    public int score(int[] rolls) {
+        G game = acquire();
+        try {
+            for (int pins : rolls) {
+                game.roll(pins);
+            }
+            return game.score();
+        } finally {
+            release(game);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -2,6 +2,7 @@ package net.mirwaldt.bowling.scorecard;
 
 public interface BowlingGameRollRecorder {
     void roll(int pins);
+    int tryRoll(int pins);
     int currentFrame();
     int currentRollInFrame();
     int pinsOfLastRoll();
@@ -10,4 +11,9 @@ public interface BowlingGameRollRecorder {
     int secondRoll(int frame);
     int bonusRoll();
     int sumRolls(int frame);
+    void reset();
+    BowlingGameSnapshot snapshot();
+    void restore(BowlingGameSnapshot snapshot);
+    void undoLastRoll();
+    int changedFrames();
 }
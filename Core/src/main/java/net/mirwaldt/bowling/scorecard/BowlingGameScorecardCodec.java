@@ -0,0 +1,96 @@
+package net.mirwaldt.bowling.scorecard;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static net.mirwaldt.bowling.scorecard.BowlingGame.LAST_FRAME;
+
+/**
+ * Writes the scorecard of a game into 34 bytes in little endian and reads it back, e.g. for the wire:
+ * <p>
+ * low long of the packed game (8 bytes) | rolls and slots 16 to 20 of the packed game (4 bytes)
+ * | score of frame 1 to 10 (2 bytes each) | current frame (1 byte) | over (bit 7) and current roll in frame (1 byte)
+ * <p>
+ * The rolls are the nibbles of {@link PackedBowlingGame} and the scores are the cumulative scores,
+ * so a reader can show the scorecard without scoring. The scores of the frames after the current frame are 0.
+ * A codec reuses its game and its scores, so it allocates nothing but must only be used by one thread at a time.
+ */
+public class BowlingGameScorecardCodec {
+    public static final int SCORECARD_SIZE = 34;
+
+    private static final int SCORES_OFFSET = 12;
+    private static final int FRAME_OFFSET = SCORES_OFFSET + 2 * LAST_FRAME;
+    private static final int FLAGS_OFFSET = FRAME_OFFSET + 1;
+    private static final int OVER_FLAG = 0x80;
+    private static final int ROLL_IN_FRAME_MASK = 0x3;
+
+    private final PackedBowlingGame game = new PackedBowlingGame();
+    private final int[] scores = new int[LAST_FRAME];
+
+    /**
+     * Writes the scorecard of a snapshot at the position of a buffer and advances the position.
+     *
+     * @param out a buffer in little endian
+     */
+    public void encode(BowlingGameSnapshot snapshot, ByteBuffer out) {
+        game.restore(snapshot);
+        encode(game, out);
+    }
+
+    /**
+     * Writes the scorecard of a game at the position of a buffer and advances the position.
+     *
+     * @param out a buffer in little endian
+     */
+    public void encode(PackedBowlingGame game, ByteBuffer out) {
+        checkOrder(out);
+        int frames = game.scores(scores);
+        out.putLong(game.low());
+        out.putInt((int) game.high());
+        for (int f = 0; f < LAST_FRAME; f++) {
+            out.putShort((short) ((f < frames) ? scores[f] : 0));
+        }
+        out.put((byte) game.currentFrame());
+        out.put((byte) ((game.isOver() ? OVER_FLAG : 0) | game.currentRollInFrame()));
+    }
+
+    /**
+     * Reads the rolls of a scorecard at the position of a buffer into a game and advances the position.
+     * The scorecard is not validated, so it must have been written by a codec.
+     *
+     * @param in a buffer in little endian
+     */
+    public static void decode(ByteBuffer in, PackedBowlingGame game) {
+        checkOrder(in);
+        long low = in.getLong();
+        long high = in.getInt() & 0xFFFFFFFFL;
+        game.load(low, high);
+        in.position(in.position() + SCORECARD_SIZE - SCORES_OFFSET);
+    }
+
+    /**
+     * Reads the score of a frame from a scorecard at an offset.
+     */
+    public static int score(ByteBuffer in, int offset, int frame) {
+        checkOrder(in);
+        return in.getShort(offset + SCORES_OFFSET + 2 * (frame - 1));
+    }
+
+    public static int currentFrame(ByteBuffer in, int offset) {
+        return in.get(offset + FRAME_OFFSET);
+    }
+
+    public static int currentRollInFrame(ByteBuffer in, int offset) {
+        return in.get(offset + FLAGS_OFFSET) & ROLL_IN_FRAME_MASK;
+    }
+
+    public static boolean isOver(ByteBuffer in, int offset) {
+        return (in.get(offset + FLAGS_OFFSET) & OVER_FLAG) != 0;
+    }
+
+    private static void checkOrder(ByteBuffer buffer) {
+        if (buffer.order() != ByteOrder.LITTLE_ENDIAN) {
+            throw new IllegalArgumentException("The buffer must be in little endian.");
+        }
+    }
+}
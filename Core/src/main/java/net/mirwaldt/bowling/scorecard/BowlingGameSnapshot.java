@@ -0,0 +1,79 @@
+package net.mirwaldt.bowling.scorecard;
+
+/**
+ * An immutable copy of the rolls of a game in the two longs of {@link PackedBowlingGame}.
+ * Taking and restoring a snapshot costs constant time and memory, so a game can be forked
+ * into many branches and rolls can be undone.
+ */
+public final class BowlingGameSnapshot {
+    public static final BowlingGameSnapshot EMPTY = new BowlingGameSnapshot(0, 0);
+
+    private final long low;
+    private final long high;
+
+    BowlingGameSnapshot(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Creates a snapshot from the two longs of another snapshot, e.g. after they have been stored.
+     * The longs are not validated, so they must come from {@link #low()} and {@link #high()}.
+     */
+    public static BowlingGameSnapshot of(long low, long high) {
+        return (low == 0 && high == 0) ? EMPTY : new BowlingGameSnapshot(low, high);
+    }
+
+    public long low() {
+        return low;
+    }
+
+    public long high() {
+        return high;
+    }
+
+    /**
+     * Writes the rolls of the snapshot.
+     *
+     * @param rolls the array which receives the rolls, at least 21 long for a whole game
+     * @return the number of rolls
+     */
+    public int rolls(int[] rolls) {
+        int slots = PackedBowlingGame.rolls(high);
+        int roll = 0;
+        for (int slot = 0; slot < slots; ) {
+            int pins = PackedBowlingGame.pins(low, high, slot);
+            rolls[roll++] = pins;
+            slot = PackedBowlingGame.nextSlot(slot, pins);
+        }
+        return roll;
+    }
+
+    /**
+     * Plays the rolls of the snapshot in a game without rolls.
+     */
+    void replay(BowlingGame game) {
+        int slots = PackedBowlingGame.rolls(high);
+        for (int slot = 0; slot < slots; ) {
+            int pins = PackedBowlingGame.pins(low, high, slot);
+            game.roll(pins);
+            slot = PackedBowlingGame.nextSlot(slot, pins);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof BowlingGameSnapshot)) {
+            return false;
+        }
+        BowlingGameSnapshot that = (BowlingGameSnapshot) o;
+        return low == that.low && high == that.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low) * 31 + Long.hashCode(high);
+    }
+}
@@ -0,0 +1,127 @@
+package net.mirwaldt.bowling.scorecard;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static net.mirwaldt.bowling.scorecard.BowlingGame.*;
+
+/**
+ * Validates and scores the rolls of a whole game in one pass with the same rules as {@link LazyScoringBowlingGame}.
+ * The result is a long which is either the final score or, if negative, encodes the index and the kind of
+ * the first invalid roll. Use {@link #isValid(long)}, {@link #score(long)}, {@link #invalidIndex(long)} and
+ * {@link #invalidKind(long)} to read it.
+ * <p>
+ * The rules differ from {@link EagerScoringBowlingGame} in the last frame: it accepts two rolls there whose pins
+ * sum up to more than 10, e.g. 3 and 8, whereas the validator rejects the second one by {@link #FRAME_OVERFLOW}.
+ */
+public class BowlingGameValidator {
+    public static final int OUT_OF_RANGE = ROLL_OUT_OF_RANGE;
+    public static final int FRAME_OVERFLOW = ROLL_FRAME_OVERFLOW;
+    /**
+     * A roll after the bonus roll of the last frame.
+     */
+    public static final int TOO_MANY_ROLLS = ROLL_GAME_OVER;
+    /**
+     * The game ends before it is over. The index is the index after the last roll.
+     */
+    public static final int TOO_FEW_ROLLS = 4;
+    /**
+     * A bonus roll in the last frame although neither a strike nor a spare was rolled in it.
+     */
+    public static final int BAD_BONUS = 5;
+
+    private static final int KIND_BITS = 3;
+    private static final long KIND_MASK = (1L << KIND_BITS) - 1;
+
+    private BowlingGameValidator() {
+        // Util methods only
+    }
+
+    public static long validate(int[] rolls) {
+        return validate(rolls, 0, rolls.length);
+    }
+
+    /**
+     * Validates the rolls from index from (inclusive) to index to (exclusive).
+     * The index of an invalid roll is the index in the array.
+     */
+    public static long validate(int[] rolls, int from, int to) {
+        int score = 0;
+        int i = from;
+        int bonusRolls = 0;
+        int bonusRollsBefore = 0;
+        for (int frame = 1; frame <= LAST_FRAME; frame++) {
+            if (i == to) {
+                return invalid(i, TOO_FEW_ROLLS);
+            }
+            int firstRoll = rolls[i];
+            if (!isInRange(firstRoll)) {
+                return invalid(i, OUT_OF_RANGE);
+            }
+            score += firstRoll * (1 + min(bonusRolls, 1) + bonusRollsBefore);
+            bonusRolls = max(bonusRolls - 1, 0);
+            i++;
+
+            if (isBeforeLastFrame(frame) && isStrike(firstRoll)) {
+                bonusRollsBefore = bonusRolls;
+                bonusRolls = 2;
+                continue;
+            }
+
+            if (i == to) {
+                return invalid(i, TOO_FEW_ROLLS);
+            }
+            int secondRoll = rolls[i];
+            if (!isInRange(secondRoll)) {
+                return invalid(i, OUT_OF_RANGE);
+            } else if (!isStrike(firstRoll) && isTooManyPins(firstRoll + secondRoll)) {
+                return invalid(i, FRAME_OVERFLOW);
+            }
+            score += secondRoll * (1 + bonusRolls);
+            i++;
+
+            bonusRollsBefore = 0;
+            bonusRolls = (firstRoll + secondRoll == MAX_PINS) ? 1 : 0;
+        }
+
+        boolean isBonus = isStrike(rolls[i - 2]) || rolls[i - 2] + rolls[i - 1] == MAX_PINS;
+        if (isBonus) {
+            if (i == to) {
+                return invalid(i, TOO_FEW_ROLLS);
+            }
+            int bonusRoll = rolls[i];
+            if (!isInRange(bonusRoll)) {
+                return invalid(i, OUT_OF_RANGE);
+            }
+            score += bonusRoll;
+            i++;
+        }
+
+        if (i < to) {
+            return invalid(i, isBonus ? TOO_MANY_ROLLS : BAD_BONUS);
+        }
+        return score;
+    }
+
+    public static boolean isValid(long result) {
+        return 0 <= result;
+    }
+
+    public static int score(long result) {
+        if (!isValid(result)) {
+            throw new IllegalArgumentException("The rolls are invalid at index " + invalidIndex(result));
+        }
+        return (int) result;
+    }
+
+    public static int invalidIndex(long result) {
+        return (int) ((-1 - result) >>> KIND_BITS);
+    }
+
+    public static int invalidKind(long result) {
+        return (int) ((-1 - result) & KIND_MASK);
+    }
+
+    private static long invalid(int index, int kind) {
+        return -1 - (((long) index << KIND_BITS) | kind);
+    }
+}
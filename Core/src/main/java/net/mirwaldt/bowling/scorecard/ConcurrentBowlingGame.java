@@ -0,0 +1,145 @@
+package net.mirwaldt.bowling.scorecard;
+
+import static java.lang.Math.min;
+
+/**
+ * A game which one writer can roll into while many readers read it at the same time.
+ * After every change the writer publishes an immutable state with the whole scorecard through a volatile field.
+ * Therefore readers never block the writer and every read sees the scorecard of one roll, never a torn one.
+ * Several values are consistent with each other only if they are read by one call, e.g. {@link #scores(int[])}
+ * or {@link #snapshot()}.
+ * <p>
+ * Writers are serialized by the monitor of the game.
+ */
+public class ConcurrentBowlingGame implements BowlingGame {
+    private final BowlingGame game;
+    private volatile State state;
+
+    public ConcurrentBowlingGame() {
+        this(new LazyScoringBowlingGame());
+    }
+
+    /**
+     * Wraps a game which must not be used directly afterwards.
+     */
+    public ConcurrentBowlingGame(BowlingGame game) {
+        this.game = game;
+        this.state = new State(game);
+    }
+
+    @Override
+    public synchronized void roll(int pins) {
+        game.roll(pins);
+        state = new State(game);
+    }
+
+    @Override
+    public synchronized int tryRoll(int pins) {
+        int status = game.tryRoll(pins);
+        if (status == ROLL_OK) {
+            state = new State(game);
+        }
+        return status;
+    }
+
+    @Override
+    public boolean isPreviousRollStrike() {
+        return state.isPreviousRollStrike;
+    }
+
+    @Override
+    public boolean isPreviousFrameSpare() {
+        return state.isPreviousFrameSpare;
+    }
+
+    @Override
+    public int currentFrame() {
+        return state.currentFrame;
+    }
+
+    @Override
+    public int currentRollInFrame() {
+        return state.currentRollInFrame;
+    }
+
+    @Override
+    public int score(int frame) {
+        return state.score(frame);
+    }
+
+    @Override
+    public int score() {
+        State state = this.state;
+        return state.score(state.currentFrame);
+    }
+
+    @Override
+    public int scores(int[] scores) {
+        State state = this.state;
+        System.arraycopy(state.scores, 0, scores, 0, state.currentFrame);
+        return state.currentFrame;
+    }
+
+    @Override
+    public boolean isOver() {
+        return state.isOver;
+    }
+
+    @Override
+    public int changedFrames() {
+        return state.changedFrames;
+    }
+
+    @Override
+    public synchronized void reset() {
+        game.reset();
+        state = new State(game);
+    }
+
+    @Override
+    public BowlingGameSnapshot snapshot() {
+        return state.snapshot;
+    }
+
+    @Override
+    public synchronized void restore(BowlingGameSnapshot snapshot) {
+        game.restore(snapshot);
+        state = new State(game);
+    }
+
+    @Override
+    public synchronized void undoLastRoll() {
+        game.undoLastRoll();
+        state = new State(game);
+    }
+
+    private static final class State {
+        private final int[] scores = new int[LAST_FRAME];
+        private final int currentFrame;
+        private final int currentRollInFrame;
+        private final boolean isPreviousRollStrike;
+        private final boolean isPreviousFrameSpare;
+        private final boolean isOver;
+        private final int changedFrames;
+        private final BowlingGameSnapshot snapshot;
+
+        private State(BowlingGame game) {
+            currentFrame = game.scores(scores);
+            currentRollInFrame = game.currentRollInFrame();
+            boolean isRolled = 0 < currentFrame;
+            isPreviousRollStrike = isRolled && game.isPreviousRollStrike();
+            isPreviousFrameSpare = isRolled && game.isPreviousFrameSpare();
+            isOver = game.isOver();
+            changedFrames = game.changedFrames();
+            snapshot = game.snapshot();
+        }
+
+        /**
+         * The frames after the current frame have no rolls, so their score is the score of the current frame.
+         */
+        private int score(int frame) {
+            int scoredFrame = min(frame, currentFrame);
+            return (scoredFrame <= 0) ? 0 : scores[scoredFrame - 1];
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package net.mirwaldt.bowling.scorecard;
 
-import java.util.stream.IntStream;
+import java.util.Arrays;
 
 public class EagerScoringBowlingGame implements BowlingGame {
     private final int[] frames = new int[10];
 
+    /**
+     * The rolls are kept only for snapshots and undo because the scores are computed while rolling.
+     */
+    private final PackedBowlingGame rolls = new PackedBowlingGame();
+
     private int frame = 0;
 
     private int rollOffset = 0;
@@ -34,15 +39,29 @@ public class EagerScoringBowlingGame implements BowlingGame {
 
     @Override
     public void roll(int pins) {
+        int status = tryRoll(pins);
+        if (status != ROLL_OK) {
+            throw BowlingGame.invalidRoll(status, pins, pinsInFrame());
+        }
+    }
+
+    @Override
+    public int tryRoll(int pins) {
+        int status = checkRoll(pins);
+        if (status != ROLL_OK) {
+            return status;
+        }
+
         checkForNextFrame();
         checkForNextRoll();
         checkForBonusRoll();
 
-        checkRoll(pins);
-
         scoreRoll(pins);
 
         scorePreviousFrames(pins);
+
+        rolls.record(pins);
+        return ROLL_OK;
     }
 
     @Override
@@ -57,9 +76,21 @@ public class EagerScoringBowlingGame implements BowlingGame {
 
     @Override
     public int score(int frame) {
-        return IntStream.of(frames)
-                .limit(frame)
-                .sum();
+        int score = 0;
+        for (int f = 0; f < frame; f++) {
+            score += frames[f];
+        }
+        return score;
+    }
+
+    @Override
+    public int scores(int[] scores) {
+        int score = 0;
+        for (int f = 0; f < frame; f++) {
+            score += frames[f];
+            scores[f] = score;
+        }
+        return frame;
     }
 
     @Override
@@ -67,6 +98,11 @@ public class EagerScoringBowlingGame implements BowlingGame {
         return isOver;
     }
 
+    @Override
+    public int changedFrames() {
+        return rolls.changedFrames();
+    }
+
     @Override
     public int currentFrame() {
         return frame;
@@ -77,10 +113,53 @@ public class EagerScoringBowlingGame implements BowlingGame {
         return (frame == 0) ? 0 : rollOffset + 1;
     }
 
-    private void checkRoll(int pins) {
-        BowlingGame.checkRange(pins);
-        checkTooManyPins(pins);
-        checkGameOver();
+    @Override
+    public void reset() {
+        Arrays.fill(frames, 0);
+        frame = 0;
+        rollOffset = 0;
+        isNextFrame = true;
+        isNextRoll = false;
+        isBonusRoll = false;
+        isStrike = false;
+        isSpare = false;
+        isSpareOneFrameBefore = false;
+        isStrikeOneFrameBefore = false;
+        isStrikeTwoFramesBefore = false;
+        isOver = false;
+        rolls.reset();
+    }
+
+    @Override
+    public BowlingGameSnapshot snapshot() {
+        return rolls.snapshot();
+    }
+
+    /**
+     * Plays the at most 21 rolls of the snapshot again since only the rolls are stored in a snapshot.
+     */
+    @Override
+    public void restore(BowlingGameSnapshot snapshot) {
+        reset();
+        snapshot.replay(this);
+    }
+
+    @Override
+    public void undoLastRoll() {
+        rolls.undoLastRoll();
+        restore(rolls.snapshot());
+    }
+
+    private int checkRoll(int pins) {
+        if (!BowlingGame.isInRange(pins)) {
+            return ROLL_OUT_OF_RANGE;
+        } else if (isTooManyPinsInFrame(pins)) {
+            return ROLL_FRAME_OVERFLOW;
+        } else if (isOver) {
+            return ROLL_GAME_OVER;
+        } else {
+            return ROLL_OK;
+        }
     }
 
     private void scoreRoll(int pins) {
@@ -267,16 +346,11 @@ public class EagerScoringBowlingGame implements BowlingGame {
         isOver = true;
     }
 
-    private void checkGameOver() {
-        if (isOver) {
-            throw new IllegalStateException("Game is over!");
-        }
+    private boolean isTooManyPinsInFrame(int pins) {
+        return isNextRoll && isFrameBeforeLastFrame() && 10 < pinsInFrame() + pins;
     }
 
-    private void checkTooManyPins(int pins) {
-        if (isFrameBeforeLastFrame() && isSecondRoll() && 10 < frames[frame - 1] + pins) {
-            throw new IllegalArgumentException("The sum of pins within a frame must be at most 10 but not "
-                    + frames[frame - 1] + " + " + pins + " = " + (frames[frame - 1] + pins));
-        }
+    private int pinsInFrame() {
+        return (frame == 0) ? 0 : frames[frame - 1];
     }
 }
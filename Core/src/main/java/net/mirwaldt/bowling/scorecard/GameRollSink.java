@@ -0,0 +1,19 @@
+package net.mirwaldt.bowling.scorecard;
+
+/**
+ * Receives the rolls of games one after another, e.g. from {@link ScorecardNotationReader}.
+ * The rolls since the last call of {@link #endGame()} or {@link #invalidGame()} belong to the current game.
+ */
+public interface GameRollSink {
+    void roll(int pins);
+
+    /**
+     * The current game has no more rolls.
+     */
+    void endGame();
+
+    /**
+     * The current game cannot be read and its rolls must be dropped.
+     */
+    void invalidGame();
+}
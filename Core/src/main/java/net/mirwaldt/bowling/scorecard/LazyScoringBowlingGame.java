@@ -1,5 +1,7 @@
 package net.mirwaldt.bowling.scorecard;
 
+import static java.lang.Math.min;
+
 /**
  * rolls | frame | index
  * 0 |     0 |     0
@@ -15,16 +17,37 @@ package net.mirwaldt.bowling.scorecard;
  * frame(rolls) = (rolls + 1) / 2
  * index(frame) = (frame - 1) * 2
  * indexFromRolls(rolls) = index(frame(rolls)) = ((rolls + 1) / 2 - 1) * 2
+ * <p>
+ * A frame is settled if all rolls which count for it have been rolled, i.e. its score cannot change anymore.
+ * The scores of the settled frames are cached so that only the frames after them need to be scored.
  */
 
 public class LazyScoringBowlingGame implements BowlingGame {
     private final BowlingGameRollRecorder recorder = new ArrayBowlingGameRecorder();
 
+    private final int[] settledScores = new int[LAST_FRAME];
+
+    private int settledFrames = 0;
+
     @Override
     public void roll(int pins) {
-        checkGameOver();
+        int status = tryRoll(pins);
+        if (status != ROLL_OK) {
+            throw BowlingGame.invalidRoll(status, pins, firstRollInFrame());
+        }
+    }
+
+    @Override
+    public int tryRoll(int pins) {
+        if (isOver()) {
+            return ROLL_GAME_OVER;
+        }
 
-        recorder.roll(pins);
+        int status = recorder.tryRoll(pins);
+        if (status == ROLL_OK) {
+            settleFrames();
+        }
+        return status;
     }
 
     @Override
@@ -44,16 +67,27 @@ public class LazyScoringBowlingGame implements BowlingGame {
 
     @Override
     public int score(int frame) {
-        int score = 0;
-        for (int f = 1; f <= frame; f++) {
-            score += recorder.sumRolls(f) + scoreStrikeAndSpare(f);
-        }
-        if (BowlingGame.isLastFrame(frame)) {
-            score += recorder.bonusRoll();
+        int settledFrame = min(frame, settledFrames);
+        int score = (settledFrame == 0) ? 0 : settledScores[settledFrame - 1];
+        for (int f = settledFrame + 1; f <= frame; f++) {
+            score += scoreFrame(f);
         }
         return score;
     }
 
+    @Override
+    public int scores(int[] scores) {
+        int frames = currentFrame();
+        int settledFrame = min(frames, settledFrames);
+        System.arraycopy(settledScores, 0, scores, 0, settledFrame);
+        int score = (settledFrame == 0) ? 0 : settledScores[settledFrame - 1];
+        for (int f = settledFrame + 1; f <= frames; f++) {
+            score += scoreFrame(f);
+            scores[f - 1] = score;
+        }
+        return frames;
+    }
+
     @Override
     public int currentFrame() {
         return recorder.currentFrame();
@@ -69,16 +103,86 @@ public class LazyScoringBowlingGame implements BowlingGame {
         return (isLastFrame() && isSecondRoll() && neitherStrikeNorSpare(LAST_FRAME)) || isLastRollInGame();
     }
 
+    @Override
+    public int changedFrames() {
+        return recorder.changedFrames();
+    }
+
+    @Override
+    public void reset() {
+        recorder.reset();
+        settledFrames = 0;
+    }
+
+    @Override
+    public BowlingGameSnapshot snapshot() {
+        return recorder.snapshot();
+    }
+
+    @Override
+    public void restore(BowlingGameSnapshot snapshot) {
+        recorder.restore(snapshot);
+        settledFrames = 0;
+        settleFrames();
+    }
+
+    @Override
+    public void undoLastRoll() {
+        recorder.undoLastRoll();
+        settledFrames = 0;
+        settleFrames();
+    }
+
+    private void settleFrames() {
+        while (settledFrames < LAST_FRAME && isSettled(settledFrames + 1)) {
+            int frame = settledFrames + 1;
+            settledScores[frame - 1] = score(settledFrames) + scoreFrame(frame);
+            settledFrames = frame;
+        }
+    }
+
+    private boolean isSettled(int frame) {
+        if (BowlingGame.isLastFrame(frame)) {
+            return isOver();
+        }
+
+        int nextFrame = frame + 1;
+        if (BowlingGame.isStrike(recorder.firstRoll(frame))) {
+            if (BowlingGame.isBeforeLastFrame(nextFrame) && isRolled(nextFrame, FIRST_ROLL_IN_FRAME)
+                    && BowlingGame.isStrike(recorder.firstRoll(nextFrame))) {
+                return isRolled(nextFrame + 1, FIRST_ROLL_IN_FRAME);
+            } else {
+                return isRolled(nextFrame, SECOND_ROLL_IN_FRAME);
+            }
+        } else if (isSpareFrame(frame)) {
+            return isRolled(nextFrame, FIRST_ROLL_IN_FRAME);
+        } else {
+            return isRolled(frame, SECOND_ROLL_IN_FRAME);
+        }
+    }
+
+    private boolean isRolled(int frame, int rollInFrame) {
+        return frame < currentFrame() || (frame == currentFrame() && rollInFrame <= currentRollInFrame());
+    }
+
+    private int scoreFrame(int frame) {
+        int score = recorder.sumRolls(frame) + scoreStrikeAndSpare(frame);
+        if (BowlingGame.isLastFrame(frame)) {
+            score += recorder.bonusRoll();
+        }
+        return score;
+    }
+
     private int scoreStrikeAndSpare(int frame) {
         int nextFrame = frame + 1;
         if (BowlingGame.isFrame(nextFrame)) {
-            return scoreFrame(frame);
+            return scoreBonus(frame);
         } else {
             return 0;
         }
     }
 
-    private int scoreFrame(int frame) {
+    private int scoreBonus(int frame) {
         int nextFrame = frame + 1;
         if (BowlingGame.isStrike(recorder.firstRoll(frame))) {
             return scoreStrike(nextFrame);
@@ -131,13 +235,11 @@ public class LazyScoringBowlingGame implements BowlingGame {
         return isLastFrame() && BowlingGame.isStrike(recorder.pinsOfLastRoll());
     }
 
-    private boolean isStrikeFrame() {
-        return BowlingGame.isStrike(recorder.firstRoll(currentFrame()));
+    private int firstRollInFrame() {
+        return (currentFrame() == 0) ? 0 : recorder.firstRoll(currentFrame());
     }
 
-    private void checkGameOver() {
-        if (isOver()) {
-            throw new IllegalStateException("Game is over!");
-        }
+    private boolean isStrikeFrame() {
+        return BowlingGame.isStrike(recorder.firstRoll(currentFrame()));
     }
 }
@@ -0,0 +1,198 @@
+package net.mirwaldt.bowling.scorecard;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Scores all games of a league in parallel by splitting the bowlers into fork/join tasks
+ * which score their games by {@link BatchScorer}.
+ * The games are stored like for {@link BatchScorer} and the games of bowler b are
+ * the games from index bowlerOffsets[b] (inclusive) to index bowlerOffsets[b + 1] (exclusive).
+ */
+public class LeagueScorer implements AutoCloseable {
+    public static final int DEFAULT_GAMES_PER_TASK = 4096;
+
+    private final ForkJoinPool pool;
+    private final boolean isOwnPool;
+    private final int gamesPerTask;
+
+    /**
+     * Scores with the common pool.
+     */
+    public LeagueScorer() {
+        this(ForkJoinPool.commonPool(), false, DEFAULT_GAMES_PER_TASK);
+    }
+
+    /**
+     * Scores with an own pool of the given parallelism which is shut down by {@link #close()}.
+     */
+    public LeagueScorer(int parallelism) {
+        this(parallelism, DEFAULT_GAMES_PER_TASK);
+    }
+
+    /**
+     * Scores with an own pool of the given parallelism which is shut down by {@link #close()}.
+     *
+     * @param gamesPerTask the number of games from which on a task is split further
+     */
+    public LeagueScorer(int parallelism, int gamesPerTask) {
+        this(new ForkJoinPool(parallelism), true, gamesPerTask);
+    }
+
+    /**
+     * Scores with the given pool which is not shut down by {@link #close()}.
+     */
+    public LeagueScorer(ForkJoinPool pool, int gamesPerTask) {
+        this(pool, false, gamesPerTask);
+    }
+
+    private LeagueScorer(ForkJoinPool pool, boolean isOwnPool, int gamesPerTask) {
+        if (gamesPerTask < 1) {
+            throw new IllegalArgumentException("The number of games per task must be at least 1 but not " + gamesPerTask);
+        }
+        this.pool = pool;
+        this.isOwnPool = isOwnPool;
+        this.gamesPerTask = gamesPerTask;
+    }
+
+    /**
+     * Scores the games of all bowlers which are given as an array of games per bowler.
+     * Every game is validated by {@link BowlingGameValidator} before because {@link BatchScorer} needs valid games.
+     *
+     * @throws IllegalArgumentException if a game is no valid whole game
+     */
+    public LeagueScores score(int[][][] gamesOfBowlers) {
+        int[] bowlerOffsets = new int[gamesOfBowlers.length + 1];
+        int rollCount = 0;
+        for (int b = 0; b < gamesOfBowlers.length; b++) {
+            bowlerOffsets[b + 1] = bowlerOffsets[b] + gamesOfBowlers[b].length;
+            for (int g = 0; g < gamesOfBowlers[b].length; g++) {
+                int[] game = gamesOfBowlers[b][g];
+                long result = BowlingGameValidator.validate(game);
+                if (!BowlingGameValidator.isValid(result)) {
+                    throw new IllegalArgumentException("Game " + g + " of bowler " + b
+                            + " is no valid whole game, the first invalid roll has index "
+                            + BowlingGameValidator.invalidIndex(result));
+                }
+                rollCount += game.length;
+            }
+        }
+
+        byte[] rolls = new byte[rollCount];
+        int[] gameOffsets = new int[bowlerOffsets[gamesOfBowlers.length] + 1];
+        int g = 0;
+        for (int[][] games : gamesOfBowlers) {
+            for (int[] game : games) {
+                int offset = gameOffsets[g];
+                for (int r = 0; r < game.length; r++) {
+                    rolls[offset + r] = (byte) game[r];
+                }
+                gameOffsets[++g] = offset + game.length;
+            }
+        }
+        return score(rolls, gameOffsets, bowlerOffsets);
+    }
+
+    /**
+     * Scores the games of all bowlers.
+     * The games must be valid whole games like for {@link BatchScorer}, they are not validated again.
+     *
+     * @param rolls         the rolls of all games
+     * @param gameOffsets   the start indices of the games in rolls followed by the end index of the last game
+     * @param bowlerOffsets the indices of the first games of the bowlers followed by the number of games
+     */
+    public LeagueScores score(byte[] rolls, int[] gameOffsets, int[] bowlerOffsets) {
+        int[] gameScores = new int[gameOffsets.length - 1];
+        int[] series = new int[bowlerOffsets.length - 1];
+        Totals totals = pool.invoke(new ScoreTask(rolls, gameOffsets, bowlerOffsets, gameScores, series,
+                0, series.length));
+        return new LeagueScores(gameScores, series, totals.totalScore, totals.highGameIndex, totals.highSeriesBowler);
+    }
+
+    @Override
+    public void close() {
+        if (isOwnPool) {
+            pool.shutdown();
+        }
+    }
+
+    private static class Totals {
+        private long totalScore;
+        private int highGameIndex = -1;
+        private int highSeriesBowler = -1;
+
+        /**
+         * Merges the totals of the bowlers after these bowlers.
+         */
+        private Totals merge(Totals next, int[] gameScores, int[] series) {
+            totalScore += next.totalScore;
+            if (0 <= next.highGameIndex
+                    && (highGameIndex < 0 || gameScores[highGameIndex] < gameScores[next.highGameIndex])) {
+                highGameIndex = next.highGameIndex;
+            }
+            if (0 <= next.highSeriesBowler
+                    && (highSeriesBowler < 0 || series[highSeriesBowler] < series[next.highSeriesBowler])) {
+                highSeriesBowler = next.highSeriesBowler;
+            }
+            return this;
+        }
+    }
+
+    private class ScoreTask extends RecursiveTask<Totals> {
+        private final byte[] rolls;
+        private final int[] gameOffsets;
+        private final int[] bowlerOffsets;
+        private final int[] gameScores;
+        private final int[] series;
+        private final int fromBowler;
+        private final int toBowler;
+
+        private ScoreTask(byte[] rolls, int[] gameOffsets, int[] bowlerOffsets, int[] gameScores, int[] series,
+                          int fromBowler, int toBowler) {
+            this.rolls = rolls;
+            this.gameOffsets = gameOffsets;
+            this.bowlerOffsets = bowlerOffsets;
+            this.gameScores = gameScores;
+            this.series = series;
+            this.fromBowler = fromBowler;
+            this.toBowler = toBowler;
+        }
+
+        @Override
+        protected Totals compute() {
+            int games = bowlerOffsets[toBowler] - bowlerOffsets[fromBowler];
+            if (games <= gamesPerTask || toBowler - fromBowler == 1) {
+                return scoreBowlers();
+            }
+
+            int middleBowler = (fromBowler + toBowler) >>> 1;
+            ScoreTask second = new ScoreTask(rolls, gameOffsets, bowlerOffsets, gameScores, series,
+                    middleBowler, toBowler);
+            second.fork();
+            Totals first = new ScoreTask(rolls, gameOffsets, bowlerOffsets, gameScores, series,
+                    fromBowler, middleBowler).compute();
+            return first.merge(second.join(), gameScores, series);
+        }
+
+        private Totals scoreBowlers() {
+            BatchScorer.scoreAll(rolls, gameOffsets, gameScores, bowlerOffsets[fromBowler], bowlerOffsets[toBowler]);
+
+            Totals totals = new Totals();
+            for (int b = fromBowler; b < toBowler; b++) {
+                int bowlerSeries = 0;
+                for (int g = bowlerOffsets[b]; g < bowlerOffsets[b + 1]; g++) {
+                    bowlerSeries += gameScores[g];
+                    if (totals.highGameIndex < 0 || gameScores[totals.highGameIndex] < gameScores[g]) {
+                        totals.highGameIndex = g;
+                    }
+                }
+                series[b] = bowlerSeries;
+                totals.totalScore += bowlerSeries;
+                if (totals.highSeriesBowler < 0 || series[totals.highSeriesBowler] < bowlerSeries) {
+                    totals.highSeriesBowler = b;
+                }
+            }
+            return totals;
+        }
+    }
+}
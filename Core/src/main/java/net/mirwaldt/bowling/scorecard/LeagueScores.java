@@ -0,0 +1,69 @@
+package net.mirwaldt.bowling.scorecard;
+
+/**
+ * The result of {@link LeagueScorer}: the score of every game, the series of every bowler and some aggregates.
+ * Ties are broken by the lower index so that the result does not depend on how the work was split.
+ */
+public class LeagueScores {
+    private final int[] gameScores;
+    private final int[] series;
+    private final long totalScore;
+    private final int highGameIndex;
+    private final int highSeriesBowler;
+
+    LeagueScores(int[] gameScores, int[] series, long totalScore, int highGameIndex, int highSeriesBowler) {
+        this.gameScores = gameScores;
+        this.series = series;
+        this.totalScore = totalScore;
+        this.highGameIndex = highGameIndex;
+        this.highSeriesBowler = highSeriesBowler;
+    }
+
+    /**
+     * @return the score of game g at index g, the array is not copied
+     */
+    public int[] gameScores() {
+        return gameScores;
+    }
+
+    /**
+     * @return the sum of the scores of the games of bowler b at index b, the array is not copied
+     */
+    public int[] series() {
+        return series;
+    }
+
+    public int games() {
+        return gameScores.length;
+    }
+
+    public long totalScore() {
+        return totalScore;
+    }
+
+    public double average() {
+        return (games() == 0) ? 0 : (double) totalScore / games();
+    }
+
+    /**
+     * @return the index of the game with the highest score or -1 if there are no games
+     */
+    public int highGameIndex() {
+        return highGameIndex;
+    }
+
+    public int highGame() {
+        return (highGameIndex < 0) ? 0 : gameScores[highGameIndex];
+    }
+
+    /**
+     * @return the index of the bowler with the highest series or -1 if there are no bowlers
+     */
+    public int highSeriesBowler() {
+        return highSeriesBowler;
+    }
+
+    public int highSeries() {
+        return (highSeriesBowler < 0) ? 0 : series[highSeriesBowler];
+    }
+}
@@ -0,0 +1,196 @@
+package net.mirwaldt.bowling.scorecard;
+
+/**
+ * A game which tells a {@link BowlingGameListener} about every roll, strike, spare, final frame score and
+ * the end of the game at the moment it is known.
+ * The rolls are kept in a {@link PackedBowlingGame} as well, so finding out what a roll has changed
+ * costs only a few bit operations and allocates nothing.
+ * <p>
+ * {@link #reset()}, {@link #restore(BowlingGameSnapshot)} and {@link #undoLastRoll()} notify nothing.
+ * After them, only the frames which become final by later rolls are scored again.
+ */
+public class NotifyingBowlingGame implements BowlingGame {
+    private final BowlingGame game;
+    private final BowlingGameListener listener;
+    private final PackedBowlingGame rolls = new PackedBowlingGame();
+    private int scoredFrames;
+
+    public NotifyingBowlingGame(BowlingGameListener listener) {
+        this(new EagerScoringBowlingGame(), listener);
+    }
+
+    /**
+     * Wraps a game without rolls which must not be used directly afterwards.
+     */
+    public NotifyingBowlingGame(BowlingGame game, BowlingGameListener listener) {
+        this.game = game;
+        this.listener = listener;
+    }
+
+    @Override
+    public void roll(int pins) {
+        game.roll(pins);
+        rolled(pins);
+    }
+
+    @Override
+    public int tryRoll(int pins) {
+        int status = game.tryRoll(pins);
+        if (status == ROLL_OK) {
+            rolled(pins);
+        }
+        return status;
+    }
+
+    @Override
+    public boolean isPreviousRollStrike() {
+        return game.isPreviousRollStrike();
+    }
+
+    @Override
+    public boolean isPreviousFrameSpare() {
+        return game.isPreviousFrameSpare();
+    }
+
+    @Override
+    public int currentFrame() {
+        return game.currentFrame();
+    }
+
+    @Override
+    public int currentRollInFrame() {
+        return game.currentRollInFrame();
+    }
+
+    @Override
+    public int score(int frame) {
+        return game.score(frame);
+    }
+
+    @Override
+    public int score() {
+        return game.score();
+    }
+
+    @Override
+    public int scores(int[] scores) {
+        return game.scores(scores);
+    }
+
+    @Override
+    public boolean isOver() {
+        return game.isOver();
+    }
+
+    @Override
+    public int changedFrames() {
+        return game.changedFrames();
+    }
+
+    @Override
+    public void reset() {
+        game.reset();
+        rolls.reset();
+        scoredFrames = 0;
+    }
+
+    @Override
+    public BowlingGameSnapshot snapshot() {
+        return game.snapshot();
+    }
+
+    @Override
+    public void restore(BowlingGameSnapshot snapshot) {
+        game.restore(snapshot);
+        rolls.restore(snapshot);
+        scoredFrames = 0;
+        skipScoredFrames();
+    }
+
+    @Override
+    public void undoLastRoll() {
+        game.undoLastRoll();
+        rolls.undoLastRoll();
+        scoredFrames = 0;
+        skipScoredFrames();
+    }
+
+    private void rolled(int pins) {
+        int slot = rolls.rolls();
+        rolls.record(pins);
+        int firstSlot = PackedBowlingGame.firstSlotOfFrame(slot);
+        int frame = firstSlot / 2 + 1;
+        listener.onRoll(frame, slot - firstSlot + 1, pins);
+
+        int pinsBefore = (slot == firstSlot) ? 0 : rolls.pins(slot - 1);
+        if (isFirstRollOfRack(slot, firstSlot)) {
+            if (BowlingGame.isStrike(pins)) {
+                listener.onStrike(frame);
+            }
+        } else if (pinsBefore + pins == MAX_PINS) {
+            listener.onSpare(frame);
+        }
+
+        while (scoredFrames < LAST_FRAME && isScored(scoredFrames + 1)) {
+            scoredFrames++;
+            listener.onFrameScored(scoredFrames, game.score(scoredFrames));
+        }
+        if (scoredFrames == LAST_FRAME) {
+            listener.onGameOver(game.score());
+        }
+    }
+
+    /**
+     * Returns whether all pins stand before the roll in the slot, which is only not the case after a first roll
+     * which has left pins. In the last frame the pins are set up again after a strike or a spare.
+     */
+    private boolean isFirstRollOfRack(int slot, int firstSlot) {
+        if (slot == firstSlot) {
+            return true;
+        }
+        int firstRoll = rolls.pins(firstSlot);
+        if (slot == firstSlot + 1) {
+            return BowlingGame.isStrike(firstRoll);
+        }
+        int secondRoll = rolls.pins(firstSlot + 1);
+        return BowlingGame.isStrike(firstRoll) ? BowlingGame.isStrike(secondRoll) : firstRoll + secondRoll == MAX_PINS;
+    }
+
+    /**
+     * Returns whether the score of a frame is final, i.e. all rolls of the frame and all of its bonus rolls are there.
+     */
+    private boolean isScored(int frame) {
+        if (BowlingGame.isLastFrame(frame)) {
+            return rolls.isOver();
+        }
+        int firstSlot = (frame - 1) * 2;
+        int nextFrameSlot = firstSlot + 2;
+        int firstRoll = rolls.pins(firstSlot);
+        if (BowlingGame.isStrike(firstRoll)) {
+            return hasRollsFrom(nextFrameSlot, 2);
+        } else if (rolls.rolls() < nextFrameSlot) {
+            return false;
+        } else if (firstRoll + rolls.pins(firstSlot + 1) == MAX_PINS) {
+            return hasRollsFrom(nextFrameSlot, 1);
+        } else {
+            return true;
+        }
+    }
+
+    private boolean hasRollsFrom(int slot, int count) {
+        int usedSlots = rolls.rolls();
+        for (int i = 0; i < count; i++) {
+            if (usedSlots <= slot) {
+                return false;
+            }
+            slot = PackedBowlingGame.nextSlot(slot, rolls.pins(slot));
+        }
+        return true;
+    }
+
+    private void skipScoredFrames() {
+        while (scoredFrames < LAST_FRAME && isScored(scoredFrames + 1)) {
+            scoredFrames++;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package net.mirwaldt.bowling.scorecard;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static net.mirwaldt.bowling.scorecard.BowlingGame.*;
+
+/**
+ * Keeps a whole game in two longs.
+ * The rolls are stored like in {@link ArrayBowlingGameRecorder}, i.e. two slots per frame and
+ * the second slot of a strike before the last frame stays 0.
+ * Every slot is a nibble of 4 bits:
+ * <p>
+ * low  | slot 15 | ... | slot 1 | slot 0
+ * high | unused (39 bits) | rolls (5 bits) | slot 20 | ... | slot 16
+ * <p>
+ * rolls is the number of slots already used and therefore the index of the next slot.
+ */
+public class PackedBowlingGame implements BowlingGame {
+    static final int SLOTS = 21;
+    static final int BITS_PER_SLOT = 4;
+    static final int SLOTS_IN_LOW = Long.SIZE / BITS_PER_SLOT;
+    static final int ROLLS_SHIFT = (SLOTS - SLOTS_IN_LOW) * BITS_PER_SLOT;
+    private static final long SLOT_MASK = 0xFL;
+    private static final long ROLLS_MASK = 0x1FL;
+    private static final int BONUS_SLOT = 20;
+    private static final int SECOND_ROLL_OF_NEXT_TO_LAST_FRAME = 18;
+
+    private long low;
+    private long high;
+
+    public PackedBowlingGame() {
+    }
+
+    /**
+     * Creates a game from the longs of the layout above without rolling again, e.g. for a stored game.
+     */
+    PackedBowlingGame(long low, long high) {
+        load(low, high);
+    }
+
+    void load(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    long low() {
+        return low;
+    }
+
+    long high() {
+        return high;
+    }
+
+    /**
+     * Completes the slots 16 to 20 of a game which is over by the number of slots used which follows from them.
+     */
+    static long highOfOverGame(long slotsInHigh) {
+        int firstRoll = (int) ((slotsInHigh >>> (2 * BITS_PER_SLOT)) & SLOT_MASK);
+        int secondRoll = (int) ((slotsInHigh >>> (3 * BITS_PER_SLOT)) & SLOT_MASK);
+        long rolls = (BowlingGame.isStrike(firstRoll) || firstRoll + secondRoll == MAX_PINS) ? SLOTS : SLOTS - 1;
+        return slotsInHigh | (rolls << ROLLS_SHIFT);
+    }
+
+    @Override
+    public void roll(int pins) {
+        int status = tryRoll(pins);
+        if (status != ROLL_OK) {
+            throw BowlingGame.invalidRoll(status, pins, firstRoll(currentFrame()));
+        }
+    }
+
+    @Override
+    public int tryRoll(int pins) {
+        if (isOver()) {
+            return ROLL_GAME_OVER;
+        } else if (!isInRange(pins)) {
+            return ROLL_OUT_OF_RANGE;
+        } else if (isTooManyPinsInFrame(pins)) {
+            return ROLL_FRAME_OVERFLOW;
+        }
+
+        record(pins);
+        return ROLL_OK;
+    }
+
+    /**
+     * Stores a roll without checking it.
+     */
+    void record(int pins) {
+        int rolls = rolls();
+        setPins(rolls, pins);
+        setRolls(nextSlot(rolls, pins));
+    }
+
+    @Override
+    public boolean isPreviousRollStrike() {
+        return !isLastFrame() && isStrikeFrame() || !isPreviousFrameSpare() && isStrikeInLastFrame();
+    }
+
+    @Override
+    public boolean isPreviousFrameSpare() {
+        return isSpareFrame(currentFrame());
+    }
+
+    @Override
+    public int currentFrame() {
+        return max(0, min(LAST_FRAME, (rolls() + 1) / 2));
+    }
+
+    @Override
+    public int currentRollInFrame() {
+        int rolls = rolls();
+        if (rolls == 0) {
+            return 0;
+        } else if (rolls <= SECOND_ROLL_OF_NEXT_TO_LAST_FRAME) {
+            if (isFirstSlot() && BowlingGame.isStrike(firstRoll(currentFrame()))) {
+                return 1;
+            } else {
+                return ((rolls + 1) % 2) + 1;
+            }
+        } else {
+            return rolls - SECOND_ROLL_OF_NEXT_TO_LAST_FRAME;
+        }
+    }
+
+    @Override
+    public int score(int frame) {
+        int score = 0;
+        for (int f = 1; f <= frame; f++) {
+            score += sumRolls(f) + scoreStrikeAndSpare(f);
+        }
+        if (BowlingGame.isLastFrame(frame)) {
+            score += pins(BONUS_SLOT);
+        }
+        return score;
+    }
+
+    @Override
+    public int score() {
+        return score(currentFrame());
+    }
+
+    @Override
+    public int scores(int[] scores) {
+        int frames = currentFrame();
+        int score = 0;
+        for (int f = 1; f <= frames; f++) {
+            score += sumRolls(f) + scoreStrikeAndSpare(f);
+            scores[f - 1] = score;
+        }
+        if (BowlingGame.isLastFrame(frames)) {
+            scores[frames - 1] += pins(BONUS_SLOT);
+        }
+        return frames;
+    }
+
+    @Override
+    public boolean isOver() {
+        return (isLastFrame() && isSecondRoll(currentRollInFrame()) && sumRolls(LAST_FRAME) < 10)
+                || isLastRollInGame(currentRollInFrame());
+    }
+
+    @Override
+    public void reset() {
+        low = 0;
+        high = 0;
+    }
+
+    @Override
+    public BowlingGameSnapshot snapshot() {
+        return new BowlingGameSnapshot(low, high);
+    }
+
+    @Override
+    public void restore(BowlingGameSnapshot snapshot) {
+        load(snapshot.low(), snapshot.high());
+    }
+
+    @Override
+    public int changedFrames() {
+        return changedFrames(low, high);
+    }
+
+    static int changedFrames(long low, long high) {
+        int rolls = rolls(high);
+        if (rolls == 0) {
+            return 0;
+        }
+        int slot = previousSlot(rolls, (rolls < 2) ? 0 : pins(low, high, rolls - 2));
+        int firstSlot = firstSlotOfFrame(slot);
+        return changedFrames(slot, (firstSlot < 2) ? 0 : pins(low, high, firstSlot - 2),
+                (firstSlot < 2) ? 0 : pins(low, high, firstSlot - 1), (firstSlot < 4) ? 0 : pins(low, high, firstSlot - 4));
+    }
+
+    /**
+     * Returns the frames from the first frame which gets the roll in a slot as bonus up to the frame of the roll.
+     *
+     * @param firstRollBefore          the pins of the first roll in the frame before the frame of the roll
+     * @param secondRollBefore         the pins of the second roll in the frame before the frame of the roll
+     * @param firstRollTwoFramesBefore the pins of the first roll two frames before the frame of the roll
+     */
+    static int changedFrames(int slot, int firstRollBefore, int secondRollBefore, int firstRollTwoFramesBefore) {
+        int frame = firstSlotOfFrame(slot) / 2 + 1;
+        int firstChangedFrame = frame;
+        if (slot % 2 == 1) {
+            if (BowlingGame.isStrike(firstRollBefore)) {
+                firstChangedFrame = frame - 1;
+            }
+        } else if (slot != BONUS_SLOT) {
+            if (BowlingGame.isStrike(firstRollBefore)) {
+                firstChangedFrame = BowlingGame.isStrike(firstRollTwoFramesBefore) ? frame - 2 : frame - 1;
+            } else if (firstRollBefore + secondRollBefore == MAX_PINS) {
+                firstChangedFrame = frame - 1;
+            }
+        }
+        return ((1 << frame) - 1) & ~((1 << (firstChangedFrame - 1)) - 1);
+    }
+
+    static int firstSlotOfFrame(int slot) {
+        return min(slot, SECOND_ROLL_OF_NEXT_TO_LAST_FRAME) & ~1;
+    }
+
+    @Override
+    public void undoLastRoll() {
+        int rolls = rolls();
+        if (rolls == 0) {
+            throw new IllegalStateException("There is no roll to undo!");
+        }
+        int slot = previousSlot(rolls, (rolls < 2) ? 0 : pins(rolls - 2));
+        setPins(slot, 0);
+        setRolls(slot);
+    }
+
+    /**
+     * Returns the slot of the last roll before the given slot.
+     *
+     * @param pinsTwoSlotsBefore the pins two slots before if the given slot is a first slot
+     */
+    static int previousSlot(int slot, int pinsTwoSlotsBefore) {
+        boolean isAfterStrike = slot <= SECOND_ROLL_OF_NEXT_TO_LAST_FRAME && slot % 2 == 0
+                && BowlingGame.isStrike(pinsTwoSlotsBefore);
+        return isAfterStrike ? slot - 2 : slot - 1;
+    }
+
+    private int scoreStrikeAndSpare(int frame) {
+        if (isBeforeLastFrame(frame)) {
+            int nextFrame = frame + 1;
+            if (BowlingGame.isStrike(firstRoll(frame))) {
+                return scoreStrike(nextFrame);
+            } else if (isSpareFrame(frame)) {
+                return firstRoll(nextFrame);
+            }
+        }
+        return 0;
+    }
+
+    private int scoreStrike(int nextFrame) {
+        if (isBeforeLastFrame(nextFrame) && BowlingGame.isStrike(firstRoll(nextFrame))) {
+            return firstRoll(nextFrame) + firstRoll(nextFrame + 1);
+        } else {
+            return sumRolls(nextFrame);
+        }
+    }
+
+    private boolean isLastFrame() {
+        return BowlingGame.isLastFrame(currentFrame());
+    }
+
+    private boolean isSpareFrame(int frame) {
+        int firstRoll = firstRoll(frame);
+        return firstRoll < 10 && firstRoll + secondRoll(frame) == 10
+                && (isBeforeLastFrame(frame) || !isLastRollInGame(currentRollInFrame()));
+    }
+
+    private boolean isStrikeInLastFrame() {
+        return isLastFrame() && BowlingGame.isStrike(pins(rolls() - 1));
+    }
+
+    private boolean isStrikeFrame() {
+        return BowlingGame.isStrike(firstRoll(currentFrame()));
+    }
+
+    private boolean isFirstSlot() {
+        return rolls() % 2 == 0;
+    }
+
+    private int firstRoll(int frame) {
+        return pins(slot(frame));
+    }
+
+    private int secondRoll(int frame) {
+        return pins(slot(frame) + 1);
+    }
+
+    private int sumRolls(int frame) {
+        return firstRoll(frame) + secondRoll(frame);
+    }
+
+    private int slot(int frame) {
+        return max(0, (frame - 1) * 2);
+    }
+
+    int pins(int slot) {
+        return pins(low, high, slot);
+    }
+
+    static int pins(long low, long high, int slot) {
+        if (slot < SLOTS_IN_LOW) {
+            return (int) ((low >>> (slot * BITS_PER_SLOT)) & SLOT_MASK);
+        } else {
+            return (int) ((high >>> ((slot - SLOTS_IN_LOW) * BITS_PER_SLOT)) & SLOT_MASK);
+        }
+    }
+
+    private void setPins(int slot, int pins) {
+        if (slot < SLOTS_IN_LOW) {
+            int shift = slot * BITS_PER_SLOT;
+            low = (low & ~(SLOT_MASK << shift)) | ((long) pins << shift);
+        } else {
+            int shift = (slot - SLOTS_IN_LOW) * BITS_PER_SLOT;
+            high = (high & ~(SLOT_MASK << shift)) | ((long) pins << shift);
+        }
+    }
+
+    /**
+     * Returns the number of slots used.
+     */
+    int rolls() {
+        return rolls(high);
+    }
+
+    static int rolls(long high) {
+        return (int) ((high >>> ROLLS_SHIFT) & ROLLS_MASK);
+    }
+
+    /**
+     * Returns the slot after a roll in a slot which skips the second slot of a strike before the last frame.
+     */
+    static int nextSlot(int slot, int pins) {
+        return (slot < SECOND_ROLL_OF_NEXT_TO_LAST_FRAME && slot % 2 == 0 && BowlingGame.isStrike(pins)) ? slot + 2 : slot + 1;
+    }
+
+    private void setRolls(int rolls) {
+        high = (high & ~(ROLLS_MASK << ROLLS_SHIFT)) | ((long) rolls << ROLLS_SHIFT);
+    }
+
+    private boolean isTooManyPinsInFrame(int pins) {
+        return isSecondRoll(currentRollInFrame() + 1)
+                && !BowlingGame.isStrike(firstRoll(currentFrame()))
+                && isTooManyPins(firstRoll(currentFrame()) + pins);
+    }
+}
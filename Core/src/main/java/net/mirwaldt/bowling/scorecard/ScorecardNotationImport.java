@@ -0,0 +1,83 @@
+package net.mirwaldt.bowling.scorecard;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+import static net.mirwaldt.bowling.scorecard.BowlingGameValidator.invalidIndex;
+import static net.mirwaldt.bowling.scorecard.BowlingGameValidator.invalidKind;
+
+/**
+ * Reads a file in scorecard notation, prints the score of every game and the throughput.
+ * <p>
+ * Usage: ScorecardNotationImport file [--quiet]
+ * <p>
+ * --quiet prints only the throughput.
+ */
+public class ScorecardNotationImport implements BatchGameRollSink.Listener {
+    private final PrintWriter out;
+    private final boolean isQuiet;
+    private long games;
+    private long invalidGames;
+
+    ScorecardNotationImport(PrintWriter out, boolean isQuiet) {
+        this.out = out;
+        this.isQuiet = isQuiet;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || 2 < args.length || (args.length == 2 && !"--quiet".equals(args[1]))) {
+            System.err.println("Usage: ScorecardNotationImport file [--quiet]");
+            System.exit(1);
+        }
+
+        Path file = Paths.get(args[0]);
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16));
+        ScorecardNotationImport importer = new ScorecardNotationImport(out, args.length == 2);
+        BatchGameRollSink sink = new BatchGameRollSink(importer);
+
+        long start = System.nanoTime();
+        long bytes = ScorecardNotationReader.read(file, sink);
+        sink.flush();
+        out.flush();
+        long nanos = Math.max(1, System.nanoTime() - start);
+
+        double seconds = nanos / 1e9;
+        System.err.printf(Locale.ROOT, "%d games (%d invalid) from %d bytes in %.3f s: %.0f games/s, %.1f MB/s%n",
+                importer.games, importer.invalidGames, bytes, seconds,
+                importer.games / seconds, bytes / seconds / (1 << 20));
+    }
+
+    @Override
+    public void scored(byte[] rolls, int[] offsets, int[] scores, int games) {
+        if (!isQuiet) {
+            for (int g = 0; g < games; g++) {
+                out.print(this.games + g + 1);
+                out.print(' ');
+                out.println(scores[g]);
+            }
+        }
+        this.games += games;
+    }
+
+    @Override
+    public void invalid(long result) {
+        games++;
+        invalidGames++;
+        if (!isQuiet) {
+            out.print(games);
+            if (result == BatchGameRollSink.UNREADABLE) {
+                out.println(" unreadable");
+            } else {
+                out.print(" invalid ");
+                out.print(invalidKind(result));
+                out.print(" at roll ");
+                out.println(invalidIndex(result));
+            }
+        }
+    }
+}
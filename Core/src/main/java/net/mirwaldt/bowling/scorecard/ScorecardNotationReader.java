@@ -0,0 +1,141 @@
+package net.mirwaldt.bowling.scorecard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static java.lang.Math.min;
+import static net.mirwaldt.bowling.scorecard.BowlingGame.MAX_PINS;
+import static net.mirwaldt.bowling.scorecard.BowlingGame.STRIKE_PINS;
+
+/**
+ * Reads games in scorecard notation, one game per line, and passes their rolls to a {@link GameRollSink}.
+ * A roll is "X" for a strike, "/" for a spare, "-" or "F" for no pins and a digit for the number of pins.
+ * A spare is only valid as second roll of a frame, where the bonus rolls of the last frame count as frames.
+ * Spaces, tabs, "|" and "," may separate the rolls. Empty lines are skipped.
+ * A line with any other character is passed as invalid game.
+ * <p>
+ * The bytes are parsed directly, so no string is created per line.
+ * Files are memory-mapped in chunks and a game may span two chunks.
+ */
+public class ScorecardNotationReader {
+    static final long DEFAULT_CHUNK_SIZE = 1L << 30;
+
+    private static final int NO_PINS = -1;
+
+    private final GameRollSink sink;
+
+    private int lastPins = NO_PINS;
+
+    private boolean isFirstRollInFrame = true;
+
+    private boolean isInGame = false;
+
+    private boolean isInvalidGame = false;
+
+    public ScorecardNotationReader(GameRollSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Reads all games of a file.
+     *
+     * @return the number of bytes read
+     */
+    public static long read(Path file, GameRollSink sink) throws IOException {
+        return read(file, sink, DEFAULT_CHUNK_SIZE);
+    }
+
+    static long read(Path file, GameRollSink sink, long chunkSize) throws IOException {
+        ScorecardNotationReader reader = new ScorecardNotationReader(sink);
+        long size;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            size = channel.size();
+            for (long position = 0; position < size; position += chunkSize) {
+                reader.read(channel.map(FileChannel.MapMode.READ_ONLY, position, min(chunkSize, size - position)));
+            }
+        }
+        reader.end();
+        return size;
+    }
+
+    /**
+     * Reads the remaining bytes of the buffer.
+     * A game which is not ended by a line break is continued by the next buffer or ended by {@link #end()}.
+     */
+    public void read(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        for (int i = buffer.position(); i < limit; i++) {
+            read(buffer.get(i));
+        }
+        buffer.position(limit);
+    }
+
+    /**
+     * Ends the last game if it is not ended by a line break.
+     */
+    public void end() {
+        endLine();
+    }
+
+    private void read(byte b) {
+        switch (b) {
+            case '\n':
+                endLine();
+                break;
+            case ' ':
+            case '\t':
+            case '\r':
+            case '|':
+            case ',':
+                break;
+            default:
+                if (!isInvalidGame) {
+                    readRoll(b);
+                }
+        }
+    }
+
+    private void readRoll(byte b) {
+        int pins = pins(b);
+        if (pins == NO_PINS) {
+            sink.invalidGame();
+            isInvalidGame = true;
+        } else {
+            sink.roll(pins);
+            lastPins = (b == '/') ? NO_PINS : pins;
+            isFirstRollInFrame = !isFirstRollInFrame || pins == STRIKE_PINS;
+            isInGame = true;
+        }
+    }
+
+    private int pins(byte b) {
+        if ('0' <= b && b <= '9') {
+            return b - '0';
+        }
+        switch (b) {
+            case 'X':
+            case 'x':
+                return STRIKE_PINS;
+            case '-':
+            case 'F':
+                return 0;
+            case '/':
+                return isFirstRollInFrame ? NO_PINS : MAX_PINS - lastPins;
+            default:
+                return NO_PINS;
+        }
+    }
+
+    private void endLine() {
+        if (isInGame && !isInvalidGame) {
+            sink.endGame();
+        }
+        lastPins = NO_PINS;
+        isFirstRollInFrame = true;
+        isInGame = false;
+        isInvalidGame = false;
+    }
+}
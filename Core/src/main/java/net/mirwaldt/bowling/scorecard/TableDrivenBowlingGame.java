@@ -0,0 +1,320 @@
+package net.mirwaldt.bowling.scorecard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.mirwaldt.bowling.scorecard.BowlingGame.*;
+
+/**
+ * Scores a game by a finite state machine whose transitions are precomputed in a table.
+ * A state knows everything needed to validate and score the next roll:
+ * <p>
+ * bits  0 -  3 | frame
+ * bits  4 -  5 | roll in frame
+ * bits  6 -  9 | pins of the first roll in the frame (only while the frame waits for its second roll)
+ * bits 10 - 11 | number of rolls the current frame still gets as bonus (2 for a strike, 1 for a spare)
+ * bit  12      | whether the frame before the current frame still gets one roll as bonus
+ * bit  13      | whether the previous roll was a strike
+ * bit  14      | whether the previous frame was a spare
+ * bit  15      | whether the game is over
+ * <p>
+ * The reachable states are numbered and each state has a row of 16 columns in the table, one per pins from 0 to 15.
+ * A valid transition is the number of the next state shifted by 2 and two bits which tell
+ * whether the frame one before and the frame two before the frame of the roll get the pins as bonus, too.
+ * An invalid transition is the negative status of {@link #tryRoll(int)}.
+ */
+public class TableDrivenBowlingGame implements BowlingGame {
+    private static final int FRAME_SHIFT = 0;
+    private static final int ROLL_IN_FRAME_SHIFT = 4;
+    private static final int FIRST_ROLL_SHIFT = 6;
+    private static final int BONUS_ROLLS_SHIFT = 10;
+    private static final int BONUS_ROLL_ONE_FRAME_BEFORE_SHIFT = 12;
+    private static final int STRIKE_SHIFT = 13;
+    private static final int SPARE_SHIFT = 14;
+    private static final int OVER_SHIFT = 15;
+
+    private static final int COLUMNS = 16;
+    private static final int OUT_OF_RANGE_COLUMN = COLUMNS - 1;
+
+    private static final int ONE_FRAME_BEFORE = 1;
+    private static final int TWO_FRAMES_BEFORE = 2;
+
+    /**
+     * Two leading elements which are never read make the bonus for frames before the first frame a no-op.
+     */
+    private static final int FRAME_OFFSET = 1;
+
+    private static final int[] STATES;
+    private static final int[] TRANSITIONS;
+
+    static {
+        List<Integer> states = new ArrayList<>();
+        Map<Integer, Integer> stateIds = new HashMap<>();
+        states.add(0);
+        stateIds.put(0, 0);
+
+        List<Integer> transitions = new ArrayList<>();
+        for (int id = 0; id < states.size(); id++) {
+            int state = states.get(id);
+            for (int pins = 0; pins < COLUMNS; pins++) {
+                int transition = transition(state, pins);
+                if (0 <= transition) {
+                    int nextState = transition >>> 2;
+                    Integer nextId = stateIds.get(nextState);
+                    if (nextId == null) {
+                        nextId = states.size();
+                        states.add(nextState);
+                        stateIds.put(nextState, nextId);
+                    }
+                    transition = (nextId << 2) | (transition & 3);
+                }
+                transitions.add(transition);
+            }
+        }
+
+        STATES = states.stream().mapToInt(Integer::intValue).toArray();
+        TRANSITIONS = transitions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    static final int INITIAL_STATE_ID = 0;
+
+    private final int[] frameScores = new int[FRAME_OFFSET + 1 + LAST_FRAME];
+    private int stateId;
+    private int score;
+
+    /**
+     * The rolls are kept only for snapshots and undo because the states do not know them.
+     */
+    private final PackedBowlingGame rolls = new PackedBowlingGame();
+
+    @Override
+    public void roll(int pins) {
+        int status = tryRoll(pins);
+        if (status != ROLL_OK) {
+            throw BowlingGame.invalidRoll(status, pins, firstRoll(STATES[stateId]));
+        }
+    }
+
+    @Override
+    public int tryRoll(int pins) {
+        int column = ((pins & ~(COLUMNS - 1)) == 0) ? pins : OUT_OF_RANGE_COLUMN;
+        int transition = TRANSITIONS[stateId * COLUMNS + column];
+        if (transition < 0) {
+            return -transition;
+        }
+
+        stateId = transition >>> 2;
+        int frame = FRAME_OFFSET + frame(STATES[stateId]);
+        int oneFrameBefore = transition & ONE_FRAME_BEFORE;
+        int twoFramesBefore = (transition & TWO_FRAMES_BEFORE) >>> 1;
+        frameScores[frame] += pins;
+        frameScores[frame - 1] += pins * oneFrameBefore;
+        frameScores[frame - 2] += pins * twoFramesBefore;
+        score += pins * (1 + oneFrameBefore + twoFramesBefore);
+        rolls.record(pins);
+        return ROLL_OK;
+    }
+
+    @Override
+    public boolean isPreviousRollStrike() {
+        return isSet(STATES[stateId], STRIKE_SHIFT);
+    }
+
+    @Override
+    public boolean isPreviousFrameSpare() {
+        return isSet(STATES[stateId], SPARE_SHIFT);
+    }
+
+    @Override
+    public int currentFrame() {
+        return frame(STATES[stateId]);
+    }
+
+    @Override
+    public int currentRollInFrame() {
+        return rollInFrame(STATES[stateId]);
+    }
+
+    @Override
+    public int score(int frame) {
+        int score = 0;
+        for (int f = 1; f <= frame; f++) {
+            score += frameScores[FRAME_OFFSET + f];
+        }
+        return score;
+    }
+
+    @Override
+    public int score() {
+        return score;
+    }
+
+    @Override
+    public int scores(int[] scores) {
+        int frames = currentFrame();
+        int score = 0;
+        for (int f = 1; f <= frames; f++) {
+            score += frameScores[FRAME_OFFSET + f];
+            scores[f - 1] = score;
+        }
+        return frames;
+    }
+
+    @Override
+    public boolean isOver() {
+        return isSet(STATES[stateId], OVER_SHIFT);
+    }
+
+    @Override
+    public int changedFrames() {
+        return rolls.changedFrames();
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(frameScores, 0);
+        stateId = INITIAL_STATE_ID;
+        score = 0;
+        rolls.reset();
+    }
+
+    @Override
+    public BowlingGameSnapshot snapshot() {
+        return rolls.snapshot();
+    }
+
+    /**
+     * Plays the at most 21 rolls of the snapshot again since only the rolls are stored in a snapshot.
+     */
+    @Override
+    public void restore(BowlingGameSnapshot snapshot) {
+        reset();
+        snapshot.replay(this);
+    }
+
+    @Override
+    public void undoLastRoll() {
+        rolls.undoLastRoll();
+        restore(rolls.snapshot());
+    }
+
+    static int stateCount() {
+        return STATES.length;
+    }
+
+    /**
+     * Looks up the state after a roll of 0 to 10 pins.
+     *
+     * @return the number of the next state or -1 if the roll is invalid in the state
+     */
+    static int nextStateId(int stateId, int pins) {
+        int transition = TRANSITIONS[stateId * COLUMNS + pins];
+        return (transition < 0) ? -1 : transition >>> 2;
+    }
+
+    /**
+     * Computes the transition from a state by a roll in the same way as the other implementations score a game.
+     *
+     * @return the next state shifted by 2 and the bonus bits or a negative value if the roll is invalid
+     */
+    private static int transition(int state, int pins) {
+        if (isSet(state, OVER_SHIFT)) {
+            return -ROLL_GAME_OVER;
+        } else if (!isInRange(pins)) {
+            return -ROLL_OUT_OF_RANGE;
+        }
+
+        int frame = frame(state);
+        int rollInFrame = rollInFrame(state);
+        int firstRoll = firstRoll(state);
+        int bonusRolls = bonusRolls(state);
+        boolean isBonusRollOneFrameBefore = isSet(state, BONUS_ROLL_ONE_FRAME_BEFORE_SHIFT);
+
+        int bonus = 0;
+        int nextBonusRolls = 0;
+        boolean isNextBonusRollOneFrameBefore;
+        if (frame == 0 || isBeforeLastFrame(frame) && (isSecondRoll(rollInFrame) || BowlingGame.isStrike(firstRoll))) {
+            frame++;
+            rollInFrame = FIRST_ROLL_IN_FRAME;
+            if (0 < bonusRolls) {
+                bonus |= ONE_FRAME_BEFORE;
+            }
+            if (isBonusRollOneFrameBefore) {
+                bonus |= TWO_FRAMES_BEFORE;
+            }
+            isNextBonusRollOneFrameBefore = 1 < bonusRolls;
+        } else {
+            rollInFrame++;
+            if (isBonusRollOneFrameBefore) {
+                bonus |= ONE_FRAME_BEFORE;
+            }
+            isNextBonusRollOneFrameBefore = false;
+        }
+
+        boolean isStrike;
+        boolean isSpare = false;
+        boolean isOver = false;
+        if (isFirstRoll(rollInFrame)) {
+            isStrike = BowlingGame.isStrike(pins);
+            if (isBeforeLastFrame(frame) && isStrike) {
+                nextBonusRolls = 2;
+            }
+            firstRoll = pins;
+        } else if (isSecondRoll(rollInFrame)) {
+            if (!BowlingGame.isStrike(firstRoll) && isTooManyPins(firstRoll + pins)) {
+                return -ROLL_FRAME_OVERFLOW;
+            }
+            boolean isSpareFrame = !BowlingGame.isStrike(firstRoll) && firstRoll + pins == MAX_PINS;
+            if (isBeforeLastFrame(frame)) {
+                isStrike = false;
+                isSpare = isSpareFrame;
+                if (isSpare) {
+                    nextBonusRolls = 1;
+                }
+            } else if (BowlingGame.isStrike(firstRoll) || isSpareFrame) {
+                isStrike = BowlingGame.isStrike(firstRoll) && BowlingGame.isStrike(pins);
+                isSpare = isSpareFrame;
+            } else {
+                isStrike = false;
+                isOver = true;
+            }
+            firstRoll = 0;
+        } else {
+            isStrike = BowlingGame.isStrike(pins);
+            isOver = true;
+        }
+
+        int nextState = (frame << FRAME_SHIFT)
+                | (rollInFrame << ROLL_IN_FRAME_SHIFT)
+                | (firstRoll << FIRST_ROLL_SHIFT)
+                | (nextBonusRolls << BONUS_ROLLS_SHIFT)
+                | (isNextBonusRollOneFrameBefore ? 1 << BONUS_ROLL_ONE_FRAME_BEFORE_SHIFT : 0)
+                | (isStrike ? 1 << STRIKE_SHIFT : 0)
+                | (isSpare ? 1 << SPARE_SHIFT : 0)
+                | (isOver ? 1 << OVER_SHIFT : 0);
+        return (nextState << 2) | bonus;
+    }
+
+    private static int frame(int state) {
+        return (state >>> FRAME_SHIFT) & 0xF;
+    }
+
+    private static int rollInFrame(int state) {
+        return (state >>> ROLL_IN_FRAME_SHIFT) & 0x3;
+    }
+
+    private static int firstRoll(int state) {
+        return (state >>> FIRST_ROLL_SHIFT) & 0xF;
+    }
+
+    private static int bonusRolls(int state) {
+        return (state >>> BONUS_ROLLS_SHIFT) & 0x3;
+    }
+
+    private static boolean isSet(int state, int shift) {
+        return ((state >>> shift) & 1) != 0;
+    }
+}
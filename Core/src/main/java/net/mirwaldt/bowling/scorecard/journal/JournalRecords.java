@@ -0,0 +1,92 @@
+package net.mirwaldt.bowling.scorecard.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A record of the journal has 16 bytes in little endian:
+ * <p>
+ * game id (8 bytes) | sequence (4 bytes) | event (1 byte) | checksum (3 bytes)
+ * <p>
+ * The checksum lets the recovery find the end of a segment which was torn by a crash.
+ */
+class JournalRecords {
+    static final int RECORD_SIZE = 16;
+
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".log";
+
+    private static final int SEQUENCE_OFFSET = 8;
+    private static final int EVENT_OFFSET = 12;
+    private static final int CHECKSUM_OFFSET = 13;
+    private static final long SALT = 0x5DEECE66DL;
+
+    private JournalRecords() {
+        // Util methods only
+    }
+
+    static void write(ByteBuffer buffer, long gameId, int sequence, int event) {
+        int checksum = checksum(gameId, sequence, event);
+        buffer.putLong(gameId)
+                .putInt(sequence)
+                .put((byte) event)
+                .put((byte) checksum)
+                .put((byte) (checksum >>> 8))
+                .put((byte) (checksum >>> 16));
+    }
+
+    static boolean isValid(ByteBuffer buffer, int offset) {
+        int checksum = (buffer.get(offset + CHECKSUM_OFFSET) & 0xFF)
+                | (buffer.get(offset + CHECKSUM_OFFSET + 1) & 0xFF) << 8
+                | (buffer.get(offset + CHECKSUM_OFFSET + 2) & 0xFF) << 16;
+        return checksum == checksum(gameId(buffer, offset), sequence(buffer, offset), event(buffer, offset));
+    }
+
+    static long gameId(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset);
+    }
+
+    static int sequence(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + SEQUENCE_OFFSET);
+    }
+
+    static int event(ByteBuffer buffer, int offset) {
+        return buffer.get(offset + EVENT_OFFSET);
+    }
+
+    static Path segment(Path directory, long number) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Lists the segments of a directory in the order they have been written.
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : stream) {
+                segments.add(segment);
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private static int checksum(long gameId, int sequence, int event) {
+        long hash = (gameId ^ SALT) * 0x9E3779B97F4A7C15L;
+        hash ^= (((long) sequence << 8) | (event & 0xFF)) * 0xC2B2AE3D27D4EB4FL;
+        hash ^= hash >>> 29;
+        return (int) (hash & 0xFFFFFF);
+    }
+}
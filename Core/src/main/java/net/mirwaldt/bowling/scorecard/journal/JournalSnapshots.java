@@ -0,0 +1,69 @@
+package net.mirwaldt.bowling.scorecard.journal;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A snapshot of the journal holds the games of all lanes after the events of the segments up to its number.
+ * It starts with a header of 24 bytes in little endian:
+ * <p>
+ * magic (4 bytes) | version (2 bytes) | record size (2 bytes) | segment number (8 bytes) | games (4 bytes) | CRC32 (4 bytes)
+ * <p>
+ * followed by one record of 28 bytes per game:
+ * <p>
+ * game id (8 bytes) | low long of the packed game (8 bytes) | high long of the packed game (8 bytes) | next sequence (4 bytes)
+ * <p>
+ * A removed game is stored with {@link #REMOVED} as low and high long, so that its sequences go on.
+ * The CRC32 covers the records. A snapshot is written to a temporary file which is renamed when it is complete.
+ */
+class JournalSnapshots {
+    static final int MAGIC = 0x534A5742;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_SIZE = 28;
+
+    static final int SEGMENT_NUMBER_OFFSET = 8;
+    static final int GAMES_OFFSET = 16;
+    static final int CRC_OFFSET = 20;
+
+    /**
+     * No packed game has all bits of its high long set.
+     */
+    static final long REMOVED = -1L;
+
+    static final String SNAPSHOT_PREFIX = "snapshot-";
+    static final String SNAPSHOT_SUFFIX = ".snap";
+    static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private JournalSnapshots() {
+        // Util methods only
+    }
+
+    static Path snapshot(Path directory, long segmentNumber) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, segmentNumber, SNAPSHOT_SUFFIX));
+    }
+
+    static long segmentNumber(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    /**
+     * Lists the snapshots of a directory from the oldest to the latest one.
+     */
+    static List<Path> snapshots(Path directory) throws IOException {
+        List<Path> snapshots = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SNAPSHOT_PREFIX + "*" + SNAPSHOT_SUFFIX)) {
+            for (Path snapshot : stream) {
+                snapshots.add(snapshot);
+            }
+        }
+        Collections.sort(snapshots);
+        return snapshots;
+    }
+}
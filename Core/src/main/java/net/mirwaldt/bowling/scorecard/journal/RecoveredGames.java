@@ -0,0 +1,112 @@
+package net.mirwaldt.bowling.scorecard.journal;
+
+import net.mirwaldt.bowling.scorecard.BowlingGame;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The games rebuilt by {@link RollJournalRecovery} together with the numbers of the recovery.
+ */
+public class RecoveredGames {
+    private final Map<Long, BowlingGame> games;
+    private final Map<Long, Integer> nextSequences;
+    private final Set<Long> removedGames;
+    private final int snapshotGames;
+    private final int segments;
+    private final long records;
+    private final long tornRecords;
+    private final long skippedEvents;
+    private final long missingEvents;
+    private final long nanos;
+
+    RecoveredGames(Map<Long, BowlingGame> games, Map<Long, Integer> nextSequences, Set<Long> removedGames,
+                   int snapshotGames, int segments, long records, long tornRecords, long skippedEvents,
+                   long missingEvents, long nanos) {
+        this.games = games;
+        this.nextSequences = nextSequences;
+        this.removedGames = removedGames;
+        this.snapshotGames = snapshotGames;
+        this.segments = segments;
+        this.records = records;
+        this.tornRecords = tornRecords;
+        this.skippedEvents = skippedEvents;
+        this.missingEvents = missingEvents;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Returns the games by their ids.
+     */
+    public Map<Long, BowlingGame> games() {
+        return games;
+    }
+
+    /**
+     * Returns the sequence of the next event of a game which continues after the recovery.
+     */
+    public int nextSequence(long gameId) {
+        Integer nextSequence = nextSequences.get(gameId);
+        return (nextSequence == null) ? 0 : nextSequence;
+    }
+
+    /**
+     * Returns the ids of the games which have been removed, their sequences go on when they are used again.
+     */
+    public Set<Long> removedGames() {
+        return removedGames;
+    }
+
+    /**
+     * Returns the number of games loaded from the latest snapshot, 0 without a snapshot.
+     */
+    public int snapshotGames() {
+        return snapshotGames;
+    }
+
+    /**
+     * Returns the number of segments after the latest snapshot which have been replayed.
+     */
+    public int segments() {
+        return segments;
+    }
+
+    public long records() {
+        return records;
+    }
+
+    /**
+     * Returns the number of records cut off at the ends of torn segments.
+     */
+    public long tornRecords() {
+        return tornRecords;
+    }
+
+    /**
+     * Returns the number of events which have been replayed already or which the games have rejected.
+     */
+    public long skippedEvents() {
+        return skippedEvents;
+    }
+
+    /**
+     * Returns the number of events missing in gaps of the sequences.
+     */
+    public long missingEvents() {
+        return missingEvents;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        double seconds = Math.max(1, nanos) / 1e9;
+        return String.format(Locale.ROOT, "%d games from %d snapshot games and %d records in %d segments"
+                        + " in %.3f s (%.0f records/s), %d torn records, %d skipped events, %d missing events",
+                games.size(), snapshotGames, records, segments, seconds, records / seconds,
+                tornRecords, skippedEvents, missingEvents);
+    }
+}
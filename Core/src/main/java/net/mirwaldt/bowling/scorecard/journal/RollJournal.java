@@ -0,0 +1,375 @@
+package net.mirwaldt.bowling.scorecard.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An append-only journal of the events of many games which is written to segment files in a directory.
+ * An event is a roll given by its pins, {@link #RESET}, {@link #UNDO} or {@link #REMOVE}
+ * and every game numbers its events by a sequence which goes on when a removed game id is used again.
+ * <p>
+ * The records are collected in a buffer while a writer thread writes and syncs the previous buffer.
+ * So one sync makes all records durable which have been appended meanwhile, i.e. the cost of a sync is shared
+ * by all lanes (group commit). The future of an append is completed when its record is durable.
+ * The futures are completed by a completer thread, so their continuations never delay the next sync.
+ * <p>
+ * Every journal which is opened starts a new segment and a segment is closed when it has reached its size.
+ * Use {@link RollJournalRecovery} to rebuild the games from the segments.
+ * <p>
+ * A snapshot of the games bounds the time of the recovery: {@link #rollOver()} closes the current segment,
+ * a {@link RollJournalSnapshotWriter} writes the games after that segment and {@link #compact()} deletes
+ * the segments which the latest snapshot covers.
+ */
+public class RollJournal implements AutoCloseable {
+    public static final int RESET = -1;
+    public static final int UNDO = -2;
+    public static final int REMOVE = -3;
+
+    public static final long DEFAULT_SEGMENT_SIZE = 64L << 20;
+    public static final int DEFAULT_RECORDS_PER_BATCH = 4096;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int batchSize;
+    private final Thread writer;
+    private final ExecutorService completer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roll-journal-completer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private ByteBuffer filling;
+    private CompletableFuture<Void> fillingDurable = new CompletableFuture<>();
+    private CompletableFuture<Long> rollOver;
+    private boolean isClosed;
+    private IOException failure;
+
+    /**
+     * Only accessed by the writer thread.
+     */
+    private ByteBuffer writing;
+    private FileChannel segment;
+    private long segmentNumber;
+
+    private volatile long records;
+    private volatile long batches;
+    private volatile long syncNanos;
+
+    private RollJournal(Path directory, long segmentSize, int recordsPerBatch, long segmentNumber) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.batchSize = recordsPerBatch * JournalRecords.RECORD_SIZE;
+        this.filling = ByteBuffer.allocate(batchSize).order(ByteOrder.LITTLE_ENDIAN);
+        this.writing = ByteBuffer.allocate(batchSize).order(ByteOrder.LITTLE_ENDIAN);
+        this.segmentNumber = segmentNumber;
+        this.segment = openSegment();
+        this.writer = new Thread(this::write, "roll-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static RollJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_RECORDS_PER_BATCH);
+    }
+
+    /**
+     * @param segmentSize     the size from which on the next batch is written to a new segment
+     * @param recordsPerBatch the number of records in a buffer, appends wait while both buffers are full
+     */
+    public static RollJournal open(Path directory, long segmentSize, int recordsPerBatch) throws IOException {
+        if (recordsPerBatch < 1) {
+            throw new IllegalArgumentException("The number of records per batch must be at least 1 but not " + recordsPerBatch);
+        }
+        Files.createDirectories(directory);
+        List<Path> segments = JournalRecords.segments(directory);
+        long lastSegmentNumber = segments.isEmpty() ? 0 : JournalRecords.segmentNumber(segments.get(segments.size() - 1));
+        // The segments covered by a snapshot may have been deleted but their numbers must not be used again.
+        List<Path> snapshots = JournalSnapshots.snapshots(directory);
+        if (!snapshots.isEmpty()) {
+            lastSegmentNumber = Math.max(lastSegmentNumber, JournalSnapshots.segmentNumber(snapshots.get(snapshots.size() - 1)));
+        }
+        return new RollJournal(directory, segmentSize, recordsPerBatch, lastSegmentNumber + 1);
+    }
+
+    /**
+     * Appends an event of a game.
+     *
+     * @param event the pins of a roll, {@link #RESET}, {@link #UNDO} or {@link #REMOVE}
+     * @return a future which is completed when the record is durable
+     */
+    public CompletableFuture<Void> append(long gameId, int sequence, int event) {
+        lock.lock();
+        try {
+            awaitRoom(JournalRecords.RECORD_SIZE);
+            JournalRecords.write(filling, gameId, sequence, event);
+            notEmpty.signal();
+            return fillingDurable;
+        } catch (IOException e) {
+            return failed(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends many events of a game with consecutive sequences to the same batch,
+     * so that either all or none of them are durable after a crash.
+     *
+     * @param events the events which must fit into a batch
+     * @return a future which is completed when the records are durable
+     */
+    public CompletableFuture<Void> append(long gameId, int sequence, int[] events) {
+        int size = events.length * JournalRecords.RECORD_SIZE;
+        if (batchSize < size) {
+            throw new IllegalArgumentException("The number of events must be at most "
+                    + batchSize / JournalRecords.RECORD_SIZE + " but not " + events.length);
+        }
+        lock.lock();
+        try {
+            awaitRoom(size);
+            for (int e = 0; e < events.length; e++) {
+                JournalRecords.write(filling, gameId, sequence + e, events[e]);
+            }
+            notEmpty.signal();
+            return fillingDurable;
+        } catch (IOException e) {
+            return failed(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the current segment after the batch which the writer takes next.
+     * That batch contains all records appended before the call but may also contain records appended after it
+     * until the writer takes it. Such records end up in the closed segment although a snapshot after the
+     * roll over may already contain their events. The recovery skips them because their sequences are below
+     * the next sequences stored in the snapshot.
+     *
+     * @return a future of the number of the closed segment which is completed when its records are durable
+     */
+    public CompletableFuture<Long> rollOver() {
+        lock.lock();
+        try {
+            if (failure != null) {
+                CompletableFuture<Long> failed = new CompletableFuture<>();
+                failed.completeExceptionally(failure);
+                return failed;
+            } else if (isClosed) {
+                throw new IllegalStateException("The journal is closed.");
+            }
+            if (rollOver == null) {
+                rollOver = new CompletableFuture<>();
+                notEmpty.signal();
+            }
+            return rollOver;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the segments which are covered by the latest snapshot and the snapshots before it.
+     *
+     * @return the number of deleted files
+     */
+    public int compact() throws IOException {
+        List<Path> snapshots = JournalSnapshots.snapshots(directory);
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        long coveredSegmentNumber = JournalSnapshots.segmentNumber(snapshots.get(snapshots.size() - 1));
+        int deleted = 0;
+        for (Path segment : JournalRecords.segments(directory)) {
+            if (JournalRecords.segmentNumber(segment) <= coveredSegmentNumber && Files.deleteIfExists(segment)) {
+                deleted++;
+            }
+        }
+        for (int i = 0; i < snapshots.size() - 1; i++) {
+            if (Files.deleteIfExists(snapshots.get(i))) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Returns the maximum number of events which {@link #append(long, int, int[])} takes at once.
+     */
+    public int recordsPerBatch() {
+        return batchSize / JournalRecords.RECORD_SIZE;
+    }
+
+    /**
+     * Returns the number of durable records since the journal has been opened.
+     */
+    public long records() {
+        return records;
+    }
+
+    /**
+     * Returns the number of syncs since the journal has been opened, i.e. records() / batches() records share a sync.
+     */
+    public long batches() {
+        return batches;
+    }
+
+    /**
+     * Returns the nanoseconds spent in writing and syncing since the journal has been opened.
+     */
+    public long syncNanos() {
+        return syncNanos;
+    }
+
+    /**
+     * Writes the records which have been appended and stops the writer thread.
+     */
+    @Override
+    public void close() throws IOException, InterruptedException {
+        lock.lock();
+        try {
+            isClosed = true;
+            notEmpty.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        writer.join();
+        completer.shutdown();
+        completer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        segment.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void write() {
+        while (true) {
+            CompletableFuture<Void> durable;
+            CompletableFuture<Long> requestedRollOver;
+            lock.lock();
+            try {
+                while (filling.position() == 0 && rollOver == null && !isClosed) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (filling.position() == 0 && rollOver == null) {
+                    return;
+                }
+                ByteBuffer buffer = filling;
+                filling = writing;
+                writing = buffer;
+                durable = fillingDurable;
+                fillingDurable = new CompletableFuture<>();
+                requestedRollOver = rollOver;
+                rollOver = null;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            int batchRecords = writing.position() / JournalRecords.RECORD_SIZE;
+            try {
+                if (0 < batchRecords) {
+                    long start = System.nanoTime();
+                    writeBatch();
+                    syncNanos += System.nanoTime() - start;
+                    records += batchRecords;
+                    batches++;
+                }
+                completer.execute(() -> durable.complete(null));
+                if (requestedRollOver != null) {
+                    long closedSegmentNumber = segmentNumber;
+                    segment.close();
+                    segmentNumber++;
+                    segment = openSegment();
+                    completer.execute(() -> requestedRollOver.complete(closedSegmentNumber));
+                }
+            } catch (IOException e) {
+                fail(e);
+                completer.execute(() -> {
+                    durable.completeExceptionally(e);
+                    if (requestedRollOver != null) {
+                        requestedRollOver.completeExceptionally(e);
+                    }
+                });
+                return;
+            }
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        if (segmentSize <= segment.size()) {
+            segment.close();
+            segmentNumber++;
+            segment = openSegment();
+        }
+        writing.flip();
+        while (writing.hasRemaining()) {
+            segment.write(writing);
+        }
+        writing.clear();
+        segment.force(false);
+    }
+
+    private void fail(IOException e) {
+        lock.lock();
+        try {
+            failure = e;
+            CompletableFuture<Void> failedDurable = fillingDurable;
+            CompletableFuture<Long> failedRollOver = rollOver;
+            completer.execute(() -> {
+                failedDurable.completeExceptionally(e);
+                if (failedRollOver != null) {
+                    failedRollOver.completeExceptionally(e);
+                }
+            });
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits under the lock until the filling buffer has room for a size.
+     */
+    private void awaitRoom(int size) throws IOException {
+        while (filling.remaining() < size && !isClosed && failure == null) {
+            notFull.awaitUninterruptibly();
+        }
+        if (failure != null) {
+            throw failure;
+        } else if (isClosed) {
+            throw new IllegalStateException("The journal is closed.");
+        }
+    }
+
+    private static CompletableFuture<Void> failed(IOException e) {
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(e);
+        return failed;
+    }
+
+    private FileChannel openSegment() throws IOException {
+        return FileChannel.open(JournalRecords.segment(directory, segmentNumber),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+}
@@ -0,0 +1,222 @@
+package net.mirwaldt.bowling.scorecard.journal;
+
+import net.mirwaldt.bowling.scorecard.BowlingGame;
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Rebuilds the games from the segments of a {@link RollJournal}.
+ * The segments are read one after another and the events are collected per game.
+ * Then the games are replayed in parallel.
+ * <p>
+ * A segment ends at its first record with a wrong checksum because that is where a crash has torn it.
+ * An event whose sequence has been replayed already is skipped.
+ * A game whose last event is {@link RollJournal#REMOVE} is not recovered but its next sequence is.
+ * A gap in the sequences can only be caused by a damaged segment, it is counted and the replay goes on after it.
+ * <p>
+ * If there is a snapshot, the games start from the latest snapshot and only the segments after it are replayed.
+ * So the time of the recovery depends on the events since the latest snapshot and not on the whole history.
+ */
+public class RollJournalRecovery {
+    private RollJournalRecovery() {
+        // Util methods only
+    }
+
+    public static RecoveredGames recover(Path directory, Supplier<? extends BowlingGame> factory) throws IOException {
+        long start = System.nanoTime();
+        Map<Long, GameEvents> eventsOfGames = new HashMap<>();
+        List<Path> snapshots = JournalSnapshots.snapshots(directory);
+        long snapshotSegmentNumber = 0;
+        int snapshotGames = 0;
+        if (!snapshots.isEmpty()) {
+            Path snapshot = snapshots.get(snapshots.size() - 1);
+            snapshotSegmentNumber = JournalSnapshots.segmentNumber(snapshot);
+            snapshotGames = readSnapshot(snapshot, eventsOfGames);
+        }
+
+        long records = 0;
+        long tornRecords = 0;
+        int segments = 0;
+        for (Path segment : JournalRecords.segments(directory)) {
+            if (JournalRecords.segmentNumber(segment) <= snapshotSegmentNumber) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                long size = channel.size();
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                int offset = 0;
+                for (; offset + JournalRecords.RECORD_SIZE <= size; offset += JournalRecords.RECORD_SIZE) {
+                    if (!JournalRecords.isValid(buffer, offset)) {
+                        break;
+                    }
+                    long gameId = JournalRecords.gameId(buffer, offset);
+                    GameEvents events = eventsOfGames.get(gameId);
+                    if (events == null) {
+                        events = new GameEvents();
+                        eventsOfGames.put(gameId, events);
+                    }
+                    events.add(JournalRecords.sequence(buffer, offset), JournalRecords.event(buffer, offset));
+                    records++;
+                }
+                tornRecords += (size - offset + JournalRecords.RECORD_SIZE - 1) / JournalRecords.RECORD_SIZE;
+            }
+            segments++;
+        }
+
+        Map<Long, BowlingGame> games = new ConcurrentHashMap<>();
+        Map<Long, Integer> nextSequences = new ConcurrentHashMap<>();
+        Set<Long> removedGames = ConcurrentHashMap.newKeySet();
+        LongAdder skippedEvents = new LongAdder();
+        LongAdder missingEvents = new LongAdder();
+        eventsOfGames.entrySet().parallelStream().forEach(entry -> {
+            BowlingGame game = factory.get();
+            GameEvents events = entry.getValue();
+            if (events.snapshot != null) {
+                game.restore(events.snapshot);
+            }
+            events.replay(game);
+            skippedEvents.add(events.skippedEvents);
+            missingEvents.add(events.missingEvents);
+            if (events.isRemoved) {
+                removedGames.add(entry.getKey());
+            } else {
+                games.put(entry.getKey(), game);
+            }
+            nextSequences.put(entry.getKey(), events.nextSequence);
+        });
+
+        return new RecoveredGames(games, nextSequences, new HashSet<>(removedGames), snapshotGames, segments, records, tornRecords,
+                skippedEvents.sum(), missingEvents.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * Starts the events of the games in a snapshot from their snapshots.
+     *
+     * @return the number of games in the snapshot
+     */
+    private static int readSnapshot(Path snapshot, Map<Long, GameEvents> eventsOfGames) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (size < JournalSnapshots.HEADER_SIZE || buffer.getInt(0) != JournalSnapshots.MAGIC
+                    || buffer.getShort(4) != JournalSnapshots.VERSION
+                    || buffer.getShort(6) != JournalSnapshots.RECORD_SIZE) {
+                throw new IOException("The file " + snapshot + " is no snapshot of a roll journal.");
+            }
+            int games = buffer.getInt(JournalSnapshots.GAMES_OFFSET);
+            if (size != JournalSnapshots.HEADER_SIZE + (long) games * JournalSnapshots.RECORD_SIZE) {
+                throw new IOException("The snapshot " + snapshot + " has not the size of its " + games + " games.");
+            }
+            CRC32 crc = new CRC32();
+            ByteBuffer records = buffer.duplicate();
+            records.position(JournalSnapshots.HEADER_SIZE);
+            byte[] chunk = new byte[1 << 16];
+            while (records.hasRemaining()) {
+                int length = Math.min(chunk.length, records.remaining());
+                records.get(chunk, 0, length);
+                crc.update(chunk, 0, length);
+            }
+            if ((int) crc.getValue() != buffer.getInt(JournalSnapshots.CRC_OFFSET)) {
+                throw new IOException("The snapshot " + snapshot + " is damaged.");
+            }
+
+            for (int g = 0; g < games; g++) {
+                int offset = JournalSnapshots.HEADER_SIZE + g * JournalSnapshots.RECORD_SIZE;
+                GameEvents events = new GameEvents();
+                long low = buffer.getLong(offset + 8);
+                long high = buffer.getLong(offset + 16);
+                if (high == JournalSnapshots.REMOVED) {
+                    events.isRemoved = true;
+                } else {
+                    events.snapshot = BowlingGameSnapshot.of(low, high);
+                }
+                events.nextSequence = buffer.getInt(offset + 24);
+                eventsOfGames.put(buffer.getLong(offset), events);
+            }
+            return games;
+        }
+    }
+
+    /**
+     * Replays the events of one game in the order of their sequences.
+     */
+    private static final class GameEvents {
+        private int[] sequences = new int[32];
+        private byte[] events = new byte[32];
+        private int size;
+        private BowlingGameSnapshot snapshot;
+        private int nextSequence;
+        private boolean isRemoved;
+        private long skippedEvents;
+        private long missingEvents;
+
+        private void add(int sequence, int event) {
+            if (size == sequences.length) {
+                sequences = Arrays.copyOf(sequences, 2 * size);
+                events = Arrays.copyOf(events, 2 * size);
+            }
+            sequences[size] = sequence;
+            events[size] = (byte) event;
+            size++;
+        }
+
+        private void replay(BowlingGame game) {
+            for (int i = 0; i < size; i++) {
+                if (sequences[i] < nextSequence) {
+                    skippedEvents++;
+                    continue;
+                }
+                missingEvents += sequences[i] - nextSequence;
+                if (events[i] == RollJournal.REMOVE) {
+                    game.reset();
+                    isRemoved = true;
+                } else {
+                    isRemoved = false;
+                    if (!apply(game, events[i])) {
+                        skippedEvents++;
+                    }
+                }
+                nextSequence = sequences[i] + 1;
+            }
+        }
+
+        /**
+         * Only a game with other rules than the game of the journal rejects an event.
+         *
+         * @return whether the game has accepted the event
+         */
+        private static boolean apply(BowlingGame game, int event) {
+            if (event == RollJournal.RESET) {
+                game.reset();
+                return true;
+            } else if (event == RollJournal.UNDO) {
+                if (game.currentFrame() == 0) {
+                    return false;
+                }
+                game.undoLastRoll();
+                return true;
+            } else {
+                return game.tryRoll(event) == BowlingGame.ROLL_OK;
+            }
+        }
+    }
+}
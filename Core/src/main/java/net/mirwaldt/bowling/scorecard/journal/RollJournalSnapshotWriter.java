@@ -0,0 +1,128 @@
+package net.mirwaldt.bowling.scorecard.journal;
+
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import static net.mirwaldt.bowling.scorecard.journal.JournalSnapshots.*;
+
+/**
+ * Writes the games of all lanes to a snapshot of a {@link RollJournal} in the format described in {@link JournalSnapshots}.
+ * The games are stored in the two longs of their {@link BowlingGameSnapshot}, so a game takes 28 bytes.
+ * <p>
+ * The snapshot only becomes visible to {@link RollJournalRecovery} when {@link #close()} has synced and renamed it
+ * and the rename is durable when {@link #close()} has synced the directory, too.
+ * If a write has failed, {@link #close()} deletes the incomplete snapshot instead.
+ * Afterwards {@link RollJournal#compact()} can delete the segments which the snapshot covers.
+ */
+public class RollJournalSnapshotWriter implements AutoCloseable {
+    private static final int GAMES_PER_BUFFER = 4096;
+
+    private final Path directory;
+    private final Path temporary;
+    private final Path snapshot;
+    private final long segmentNumber;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(GAMES_PER_BUFFER * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32 crc = new CRC32();
+    private int games;
+    private boolean isBroken;
+
+    /**
+     * @param segmentNumber the number of the last segment whose events are contained in the games,
+     *                      e.g. returned by {@link RollJournal#rollOver()}
+     */
+    public RollJournalSnapshotWriter(Path directory, long segmentNumber) throws IOException {
+        this.directory = directory;
+        this.segmentNumber = segmentNumber;
+        this.snapshot = JournalSnapshots.snapshot(directory, segmentNumber);
+        this.temporary = snapshot.resolveSibling(snapshot.getFileName() + TEMPORARY_SUFFIX);
+        this.channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.channel.position(HEADER_SIZE);
+    }
+
+    /**
+     * Writes a game.
+     *
+     * @param nextSequence the sequence of the first event of the game which is not contained in the snapshot
+     */
+    public void write(long gameId, BowlingGameSnapshot game, int nextSequence) throws IOException {
+        write(gameId, game.low(), game.high(), nextSequence);
+    }
+
+    /**
+     * Writes a game which has been removed, so that the sequences of its id go on after the recovery.
+     *
+     * @param nextSequence the sequence of the first event of the id after the removal
+     */
+    public void writeRemoved(long gameId, int nextSequence) throws IOException {
+        write(gameId, REMOVED, REMOVED, nextSequence);
+    }
+
+    public int games() {
+        return games;
+    }
+
+    /**
+     * Completes the snapshot and replaces the snapshot of the same segment if there is one.
+     */
+    @Override
+    public void close() throws IOException {
+        if (isBroken) {
+            try {
+                channel.close();
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            return;
+        }
+        try {
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE)
+                    .putLong(segmentNumber).putInt(games).putInt((int) crc.getValue()).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+        Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // Otherwise a crash could lose the rename but keep the deletions of the segments by a compaction.
+        try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        }
+    }
+
+    private void write(long gameId, long low, long high, int nextSequence) throws IOException {
+        if (!buffer.hasRemaining()) {
+            try {
+                flush();
+            } catch (IOException e) {
+                isBroken = true;
+                throw e;
+            }
+        }
+        buffer.putLong(gameId).putLong(low).putLong(high).putInt(nextSequence);
+        games++;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        crc.update(buffer.array(), 0, buffer.limit());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
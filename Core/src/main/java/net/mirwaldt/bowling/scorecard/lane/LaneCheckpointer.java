@@ -0,0 +1,89 @@
+package net.mirwaldt.bowling.scorecard.lane;
+
+import net.mirwaldt.bowling.scorecard.journal.RollJournal;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkpoints a {@link LaneRuntime} periodically in the background and compacts its journal afterwards.
+ * So the journal only keeps the segments since the latest snapshot and the recovery replays at most
+ * the events of one interval.
+ */
+public class LaneCheckpointer implements AutoCloseable {
+    private final LaneRuntime runtime;
+    private final RollJournal journal;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private volatile long checkpoints;
+    private volatile long compactedFiles;
+    private volatile Exception failure;
+
+    /**
+     * @param journal the journal of the runtime
+     */
+    public LaneCheckpointer(LaneRuntime runtime, RollJournal journal, long interval, TimeUnit unit) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("The interval must be at least 1 but not " + interval);
+        }
+        this.runtime = runtime;
+        this.journal = journal;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "lane-checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+        this.scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.scheduler.scheduleWithFixedDelay(this::checkpointInBackground, interval, interval, unit);
+    }
+
+    /**
+     * Writes a snapshot of all games and deletes the segments which it covers.
+     */
+    public void checkpoint() throws IOException, InterruptedException {
+        runtime.checkpoint();
+        checkpoints++;
+        compactedFiles += journal.compact();
+    }
+
+    public long checkpoints() {
+        return checkpoints;
+    }
+
+    /**
+     * Returns the number of segments and old snapshots deleted by the compactions.
+     */
+    public long compactedFiles() {
+        return compactedFiles;
+    }
+
+    /**
+     * Returns the exception of the latest checkpoint in the background if it has failed, otherwise null.
+     * A failed checkpoint is tried again after the next interval.
+     */
+    public Exception failure() {
+        return failure;
+    }
+
+    /**
+     * Stops checkpointing and waits for a running checkpoint.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    private void checkpointInBackground() {
+        try {
+            checkpoint();
+            failure = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package net.mirwaldt.bowling.scorecard.lane;
+
+import net.mirwaldt.bowling.scorecard.BowlingGame;
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+
+/**
+ * The outcome of a roll by {@link LaneRuntime#tryRoll(long, int, int)} taken on the thread of its shard.
+ */
+public class LaneRoll {
+    private final int status;
+    private final int nextSequence;
+    private final BowlingGameSnapshot snapshot;
+
+    LaneRoll(int status, int nextSequence, BowlingGameSnapshot snapshot) {
+        this.status = status;
+        this.nextSequence = nextSequence;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Returns {@link BowlingGame#ROLL_OK}, the reason why the game has rejected the roll,
+     * {@link LaneRuntime#ROLL_DUPLICATE} or {@link LaneRuntime#ROLL_OUT_OF_ORDER}.
+     */
+    public int status() {
+        return status;
+    }
+
+    /**
+     * Returns the sequence which the next change of the game must have.
+     */
+    public int nextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Returns the snapshot of the game after the roll.
+     */
+    public BowlingGameSnapshot snapshot() {
+        return snapshot;
+    }
+}
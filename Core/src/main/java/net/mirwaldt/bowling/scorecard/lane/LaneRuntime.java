@@ -0,0 +1,535 @@
+package net.mirwaldt.bowling.scorecard.lane;
+
+import net.mirwaldt.bowling.scorecard.BowlingGame;
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+import net.mirwaldt.bowling.scorecard.LazyScoringBowlingGame;
+import net.mirwaldt.bowling.scorecard.journal.RecoveredGames;
+import net.mirwaldt.bowling.scorecard.journal.RollJournal;
+import net.mirwaldt.bowling.scorecard.journal.RollJournalSnapshotWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Holds the games of many lanes by their ids, e.g. the games of a bowling center and of remote league sessions.
+ * The games are sharded by their ids across a fixed number of single-threaded executors.
+ * A game is only touched by the thread of its shard, so it needs no lock and can be any {@link BowlingGame}.
+ * Every call returns a future which is completed on that thread, exceptionally if the game throws.
+ * A game is created by the first change for its id or by {@link #open(long)}.
+ * Reading or observing an id without a game creates none.
+ * <p>
+ * Observers of a game get a snapshot of the game when they start to observe it and after every change of it
+ * on the thread of its shard before the future of the change is completed. They must return quickly.
+ * When the game is removed, they get null as last snapshot, so that they can stop or observe a new game.
+ * An observer which throws an exception is removed.
+ * <p>
+ * With a {@link RollJournal} every change is journaled and its future is completed when its records are durable.
+ * The games rebuilt from the journal are put into the runtime by {@link #recover(RecoveredGames)}
+ * and {@link #checkpoint()} writes a snapshot of all games which bounds the next recovery.
+ * <p>
+ * Every change of a game has a sequence, so that a client which retries a roll can tell
+ * by {@link #tryRoll(long, int, int)} whether the game has already got it.
+ */
+public class LaneRuntime implements AutoCloseable {
+    /**
+     * The status of a roll whose sequence the game has already had.
+     */
+    public static final int ROLL_DUPLICATE = 4;
+    /**
+     * The status of a roll whose sequence is ahead of the next one of the game.
+     */
+    public static final int ROLL_OUT_OF_ORDER = 5;
+
+    private static final int MAX_ROLLS = 21;
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final Shard[] shards;
+    private final Supplier<? extends BowlingGame> factory;
+    private final RollJournal journal;
+
+    public LaneRuntime(int shardCount) {
+        this(shardCount, LazyScoringBowlingGame::new);
+    }
+
+    public LaneRuntime(int shardCount, Supplier<? extends BowlingGame> factory) {
+        this(shardCount, factory, null);
+    }
+
+    /**
+     * @param journal the journal of the changes which is not closed by {@link #close()} or null
+     */
+    /**
+     * @param journal journals the changes, its batches must hold a reset and a whole game
+     *                because {@link #restore(long, BowlingGameSnapshot)} journals them at once
+     */
+    public LaneRuntime(int shardCount, Supplier<? extends BowlingGame> factory, RollJournal journal) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("The number of shards must be at least 1 but not " + shardCount);
+        }
+        if (journal != null && journal.recordsPerBatch() < MAX_ROLLS + 1) {
+            throw new IllegalArgumentException("The number of records per batch of the journal must be at least "
+                    + (MAX_ROLLS + 1) + " but not " + journal.recordsPerBatch());
+        }
+        this.factory = factory;
+        this.journal = journal;
+        this.shards = new Shard[shardCount];
+        for (int s = 0; s < shardCount; s++) {
+            shards[s] = new Shard(s);
+        }
+    }
+
+    public CompletableFuture<Void> roll(long gameId, int pins) {
+        return change(gameId, lane -> {
+            lane.game.roll(pins);
+            return lane.journal(pins);
+        });
+    }
+
+    /**
+     * Rolls like {@link BowlingGame#tryRoll(int)}. Observers are only notified if the roll is valid.
+     */
+    public CompletableFuture<Integer> tryRoll(long gameId, int pins) {
+        return tryRollAndSnapshot(gameId, pins).thenApply(LaneRoll::status);
+    }
+
+    /**
+     * Rolls like {@link #tryRoll(long, int)} and returns the outcome with the snapshot taken by the same task,
+     * so that the snapshot is the one of this roll and not one of a later change by another client.
+     */
+    public CompletableFuture<LaneRoll> tryRollAndSnapshot(long gameId, int pins) {
+        Shard shard = shard(gameId);
+        return CompletableFuture.supplyAsync(() -> shard.lane(gameId).tryRoll(pins), shard.executor)
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Rolls like {@link #tryRoll(long, int)} if the sequence is the next one of the game
+     * and returns the outcome with the snapshot taken by the same task, so that a retried roll is not rolled twice.
+     * A sequence the game has already had is {@link #ROLL_DUPLICATE}, one which is ahead {@link #ROLL_OUT_OF_ORDER}.
+     * The future of a valid roll is completed when the roll is durable.
+     */
+    public CompletableFuture<LaneRoll> tryRoll(long gameId, int sequence, int pins) {
+        Shard shard = shard(gameId);
+        return CompletableFuture.supplyAsync(() -> {
+            Lane lane = shard.lane(gameId);
+            if (sequence < lane.sequence) {
+                return lane.unchanged(ROLL_DUPLICATE);
+            } else if (lane.sequence < sequence) {
+                return lane.unchanged(ROLL_OUT_OF_ORDER);
+            }
+            return lane.tryRoll(pins);
+        }, shard.executor).thenCompose(Function.identity());
+    }
+
+    /**
+     * Rolls many pins at once, e.g. a game submitted in bulk, either all or none of them.
+     * Observers are notified once after the last roll.
+     *
+     * @return a future of {@link BowlingGame#ROLL_OK} or the status of the first invalid roll
+     */
+    public CompletableFuture<Integer> tryRolls(long gameId, int[] pins) {
+        return tryRollsAndSnapshot(gameId, pins).thenApply(LaneRoll::status);
+    }
+
+    /**
+     * Rolls like {@link #tryRolls(long, int[])} and returns the outcome with the snapshot taken by the same task.
+     */
+    public CompletableFuture<LaneRoll> tryRollsAndSnapshot(long gameId, int[] pins) {
+        Shard shard = shard(gameId);
+        return CompletableFuture.supplyAsync(() -> {
+            Lane lane = shard.lane(gameId);
+            BowlingGameSnapshot before = lane.game.snapshot();
+            for (int p : pins) {
+                int status = lane.game.tryRoll(p);
+                if (status != BowlingGame.ROLL_OK) {
+                    lane.game.restore(before);
+                    return lane.unchanged(status);
+                }
+            }
+            if (pins.length == 0) {
+                return lane.unchanged(BowlingGame.ROLL_OK);
+            }
+            CompletableFuture<Void> durable = lane.journal(pins);
+            lane.changed();
+            return lane.rolled(durable);
+        }, shard.executor).thenCompose(Function.identity());
+    }
+
+    public CompletableFuture<Void> reset(long gameId) {
+        return change(gameId, lane -> {
+            lane.game.reset();
+            return lane.journal(RollJournal.RESET);
+        });
+    }
+
+    public CompletableFuture<Void> undoLastRoll(long gameId) {
+        return change(gameId, lane -> {
+            lane.game.undoLastRoll();
+            return lane.journal(RollJournal.UNDO);
+        });
+    }
+
+    /**
+     * Restores a game which is journaled as a reset followed by the rolls of the snapshot in one batch.
+     */
+    public CompletableFuture<Void> restore(long gameId, BowlingGameSnapshot snapshot) {
+        return change(gameId, lane -> {
+            lane.game.restore(snapshot);
+            int[] rolls = new int[MAX_ROLLS];
+            int count = snapshot.rolls(rolls);
+            int[] events = new int[1 + count];
+            events[0] = RollJournal.RESET;
+            System.arraycopy(rolls, 0, events, 1, count);
+            return lane.journal(events);
+        });
+    }
+
+    /**
+     * Puts games rebuilt from the journal into the runtime and replaces games with the same ids.
+     * Their next changes are journaled with the sequences following the recovered ones.
+     */
+    public CompletableFuture<Void> recover(RecoveredGames recovered) {
+        List<CompletableFuture<Void>> recoveries = new ArrayList<>();
+        for (Map.Entry<Long, BowlingGame> entry : recovered.games().entrySet()) {
+            long gameId = entry.getKey();
+            Shard shard = shard(gameId);
+            recoveries.add(CompletableFuture.runAsync(() -> {
+                Lane lane = new Lane(gameId, entry.getValue(), recovered.nextSequence(gameId));
+                shard.lanes.put(gameId, lane);
+                shard.removedSequences.remove(gameId);
+            }, shard.executor));
+        }
+        for (long gameId : recovered.removedGames()) {
+            Shard shard = shard(gameId);
+            recoveries.add(CompletableFuture.runAsync(() -> {
+                shard.lanes.remove(gameId);
+                shard.removedSequences.put(gameId, recovered.nextSequence(gameId));
+            }, shard.executor));
+        }
+        return CompletableFuture.allOf(recoveries.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Writes a snapshot of all games after the current segment of the journal so that the recovery only replays
+     * the segments after it. The games are copied on the threads of their shards while the lanes go on rolling.
+     *
+     * @return the number of the last segment which the snapshot covers
+     * @throws IllegalStateException if the runtime has no journal
+     */
+    public long checkpoint() throws IOException, InterruptedException {
+        if (journal == null) {
+            throw new IllegalStateException("There is no journal to checkpoint!");
+        }
+        long segmentNumber = await(journal.rollOver());
+        List<CompletableFuture<List<LaneCopy>>> copies = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            copies.add(CompletableFuture.supplyAsync(shard::copy, shard.executor));
+        }
+        List<List<LaneCopy>> lanes = new ArrayList<>(shards.length);
+        for (CompletableFuture<List<LaneCopy>> copy : copies) {
+            lanes.add(await(copy));
+        }
+        try (RollJournalSnapshotWriter writer = new RollJournalSnapshotWriter(journal.directory(), segmentNumber)) {
+            for (List<LaneCopy> lanesOfShard : lanes) {
+                for (LaneCopy lane : lanesOfShard) {
+                    if (lane.snapshot == null) {
+                        writer.writeRemoved(lane.gameId, lane.sequence);
+                    } else {
+                        writer.write(lane.gameId, lane.snapshot, lane.sequence);
+                    }
+                }
+            }
+        }
+        return segmentNumber;
+    }
+
+    /**
+     * Creates a game for an id if there is none, e.g. for a lane which is shown before its first roll.
+     * An empty game needs no record in the journal because the recovery treats a missing game like an empty one.
+     */
+    public CompletableFuture<Void> open(long gameId) {
+        Shard shard = shard(gameId);
+        return CompletableFuture.runAsync(() -> shard.lane(gameId), shard.executor);
+    }
+
+    public CompletableFuture<Boolean> contains(long gameId) {
+        Shard shard = shard(gameId);
+        return CompletableFuture.supplyAsync(() -> shard.lanes.containsKey(gameId), shard.executor);
+    }
+
+    /**
+     * @return a future of the snapshot or of null if there is no game with the id
+     */
+    public CompletableFuture<BowlingGameSnapshot> snapshot(long gameId) {
+        Shard shard = shard(gameId);
+        return CompletableFuture.supplyAsync(() -> {
+            Lane lane = shard.lanes.get(gameId);
+            return (lane == null) ? null : lane.game.snapshot();
+        }, shard.executor);
+    }
+
+    /**
+     * Reads a game by a query which must neither change the game nor keep a reference to it.
+     * The future completes exceptionally with a {@link NoSuchElementException} if there is no game with the id.
+     */
+    public <T> CompletableFuture<T> read(long gameId, Function<? super BowlingGame, ? extends T> query) {
+        Shard shard = shard(gameId);
+        return CompletableFuture.supplyAsync(() -> query.apply(shard.existingLane(gameId).game), shard.executor);
+    }
+
+    /**
+     * Adds an observer to a game if there is one.
+     *
+     * @return a future of whether there is a game with the id
+     */
+    public CompletableFuture<Boolean> observe(long gameId, Consumer<BowlingGameSnapshot> observer) {
+        Shard shard = shard(gameId);
+        return CompletableFuture.supplyAsync(() -> {
+            Lane lane = shard.lanes.get(gameId);
+            if (lane == null) {
+                return false;
+            }
+            lane.observers.add(observer);
+            lane.notify(observer, lane.game.snapshot());
+            return true;
+        }, shard.executor);
+    }
+
+    public CompletableFuture<Void> unobserve(long gameId, Consumer<BowlingGameSnapshot> observer) {
+        Shard shard = shard(gameId);
+        return CompletableFuture.runAsync(() -> {
+            Lane lane = shard.lanes.get(gameId);
+            if (lane != null) {
+                lane.observers.remove(observer);
+            }
+        }, shard.executor);
+    }
+
+    /**
+     * Removes a game together with its observers which get null as last snapshot.
+     * With a journal the removal is journaled and the sequence of the id is kept, so that a new game
+     * with the same id goes on with the sequences and is not mistaken for the removed one by the recovery.
+     *
+     * @return a future of whether there was a game with the id
+     */
+    public CompletableFuture<Boolean> remove(long gameId) {
+        Shard shard = shard(gameId);
+        return CompletableFuture.supplyAsync(() -> {
+            Lane lane = shard.lanes.remove(gameId);
+            if (lane == null) {
+                return CompletableFuture.completedFuture(false);
+            }
+            CompletableFuture<Void> durable = lane.journal(RollJournal.REMOVE);
+            lane.removed();
+            if (journal != null) {
+                shard.removedSequences.put(gameId, lane.sequence);
+            }
+            return durable.thenApply(ignored -> true);
+        }, shard.executor).thenCompose(Function.identity());
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Runs the calls which have been accepted already and stops the threads of the shards.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+        for (Shard shard : shards) {
+            shard.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Changes a game on the thread of its shard and completes the future when the change is durable.
+     *
+     * @param change changes the game and returns the future of its journal records
+     */
+    private CompletableFuture<Void> change(long gameId, Function<Lane, CompletableFuture<Void>> change) {
+        Shard shard = shard(gameId);
+        return CompletableFuture.supplyAsync(() -> {
+            Lane lane = shard.lane(gameId);
+            CompletableFuture<Void> durable = change.apply(lane);
+            lane.changed();
+            return durable;
+        }, shard.executor).thenCompose(Function.identity());
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Shard shard(long gameId) {
+        return shards[(int) Math.floorMod(gameId, (long) shards.length)];
+    }
+
+    private final class Shard {
+        private final ExecutorService executor;
+
+        /**
+         * Only accessed by the thread of the executor.
+         */
+        private final Map<Long, Lane> lanes = new HashMap<>();
+
+        /**
+         * The next sequences of the removed games by their ids, only accessed by the thread of the executor.
+         */
+        private final Map<Long, Integer> removedSequences = new HashMap<>();
+
+        private Shard(int index) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "lane-shard-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private Lane lane(long gameId) {
+            Lane lane = lanes.get(gameId);
+            if (lane == null) {
+                Integer sequence = removedSequences.remove(gameId);
+                lane = new Lane(gameId, factory.get(), (sequence == null) ? 0 : sequence);
+                lanes.put(gameId, lane);
+            }
+            return lane;
+        }
+
+        private Lane existingLane(long gameId) {
+            Lane lane = lanes.get(gameId);
+            if (lane == null) {
+                throw new NoSuchElementException("There is no game with the id " + gameId + ".");
+            }
+            return lane;
+        }
+
+        private List<LaneCopy> copy() {
+            List<LaneCopy> copies = new ArrayList<>(lanes.size() + removedSequences.size());
+            for (Lane lane : lanes.values()) {
+                copies.add(new LaneCopy(lane.gameId, lane.game.snapshot(), lane.sequence));
+            }
+            for (Map.Entry<Long, Integer> removed : removedSequences.entrySet()) {
+                copies.add(new LaneCopy(removed.getKey(), null, removed.getValue()));
+            }
+            return copies;
+        }
+    }
+
+    private static final class LaneCopy {
+        private final long gameId;
+
+        /**
+         * Null for a removed game.
+         */
+        private final BowlingGameSnapshot snapshot;
+        private final int sequence;
+
+        private LaneCopy(long gameId, BowlingGameSnapshot snapshot, int sequence) {
+            this.gameId = gameId;
+            this.snapshot = snapshot;
+            this.sequence = sequence;
+        }
+    }
+
+    private final class Lane {
+        private final long gameId;
+        private final BowlingGame game;
+        private final List<Consumer<BowlingGameSnapshot>> observers = new ArrayList<>();
+        private int sequence;
+
+        private Lane(long gameId, BowlingGame game, int sequence) {
+            this.gameId = gameId;
+            this.game = game;
+            this.sequence = sequence;
+        }
+
+        private CompletableFuture<Void> journal(int event) {
+            int eventSequence = sequence++;
+            if (journal == null) {
+                return DONE;
+            }
+            return journal.append(gameId, eventSequence, event);
+        }
+
+        /**
+         * Journals events in one batch, so that either all or none of them are recovered.
+         */
+        private CompletableFuture<Void> journal(int[] events) {
+            int firstSequence = sequence;
+            sequence += events.length;
+            if (journal == null) {
+                return DONE;
+            }
+            return journal.append(gameId, firstSequence, events);
+        }
+
+        private CompletableFuture<LaneRoll> tryRoll(int pins) {
+            int status = game.tryRoll(pins);
+            if (status != BowlingGame.ROLL_OK) {
+                return unchanged(status);
+            }
+            CompletableFuture<Void> durable = journal(pins);
+            changed();
+            return rolled(durable);
+        }
+
+        /**
+         * Returns the outcome of a change which has not been made, e.g. a rejected roll, so nothing waits for the journal.
+         */
+        private CompletableFuture<LaneRoll> unchanged(int status) {
+            return CompletableFuture.completedFuture(new LaneRoll(status, sequence, game.snapshot()));
+        }
+
+        private CompletableFuture<LaneRoll> rolled(CompletableFuture<Void> durable) {
+            LaneRoll roll = new LaneRoll(BowlingGame.ROLL_OK, sequence, game.snapshot());
+            return durable.thenApply(ignored -> roll);
+        }
+
+        private void changed() {
+            if (!observers.isEmpty()) {
+                BowlingGameSnapshot snapshot = game.snapshot();
+                for (int i = observers.size() - 1; 0 <= i; i--) {
+                    notify(observers.get(i), snapshot);
+                }
+            }
+        }
+
+        private void removed() {
+            for (int i = observers.size() - 1; 0 <= i; i--) {
+                notify(observers.get(i), null);
+            }
+            observers.clear();
+        }
+
+        private void notify(Consumer<BowlingGameSnapshot> observer, BowlingGameSnapshot snapshot) {
+            try {
+                observer.accept(snapshot);
+            } catch (RuntimeException e) {
+                observers.remove(observer);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package net.mirwaldt.bowling.scorecard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BatchScorerTest {
+    private static final int GAMES = 10_000;
+
+    private final int[][] games = new int[GAMES][];
+    private final int[] offsets = new int[GAMES + 1];
+    private final byte[] rolls;
+
+    public BatchScorerTest() {
+        Random random = new Random(11);
+        for (int g = 0; g < GAMES; g++) {
+            games[g] = RandomBowlingGames.validGame(random);
+            offsets[g + 1] = offsets[g] + games[g].length;
+        }
+        rolls = new byte[offsets[GAMES]];
+        for (int g = 0; g < GAMES; g++) {
+            for (int r = 0; r < games[g].length; r++) {
+                rolls[offsets[g] + r] = (byte) games[g][r];
+            }
+        }
+    }
+
+    @DisplayName("when all games are scored, then the scores are the same as by the eager scoring game")
+    @Test
+    void whenAllGamesAreScored_thenScoresAreTheSameAsByTheEagerScoringGame() {
+        assertArrayEquals(scoreOneByOne(EagerScoringBowlingGame::new), scoreAll());
+    }
+
+    @DisplayName("when all games are scored, then the scores are the same as by the lazy scoring game")
+    @Test
+    void whenAllGamesAreScored_thenScoresAreTheSameAsByTheLazyScoringGame() {
+        assertArrayEquals(scoreOneByOne(LazyScoringBowlingGame::new), scoreAll());
+    }
+
+    @DisplayName("when some games are scored, then only their scores are written")
+    @Test
+    void whenSomeGamesAreScored_thenOnlyTheirScoresAreWritten() {
+        int[] scores = new int[GAMES];
+        BatchScorer.scoreAll(rolls, offsets, scores, 10, 20);
+        for (int g = 0; g < GAMES; g++) {
+            int expected = (10 <= g && g < 20) ? BowlingGameValidator.score(BowlingGameValidator.validate(games[g])) : 0;
+            assertEquals(expected, scores[g]);
+        }
+    }
+
+    private int[] scoreAll() {
+        int[] scores = new int[GAMES];
+        BatchScorer.scoreAll(rolls, offsets, scores);
+        return scores;
+    }
+
+    private int[] scoreOneByOne(Supplier<BowlingGame> factory) {
+        int[] scores = new int[GAMES];
+        for (int g = 0; g < GAMES; g++) {
+            BowlingGame game = factory.get();
+            for (int pins : games[g]) {
+                game.roll(pins);
+            }
+            scores[g] = game.score();
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,135 @@
+package net.mirwaldt.bowling.scorecard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BowlingGameArchiveTest {
+    private static final int GAMES = 10_000;
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("when games are archived, then every game reads like the game rolled by the lazy scoring game")
+    @Test
+    void whenGamesAreArchived_thenEveryGameReadsLikeTheGameRolledByTheLazyScoringGame() throws IOException {
+        int[][] games = randomGames();
+        Path file = write(games);
+        assertEquals(BowlingGameArchive.HEADER_SIZE + (long) GAMES * BowlingGameArchive.RECORD_SIZE, Files.size(file));
+
+        try (BowlingGameArchive archive = BowlingGameArchive.open(file, 1000)) {
+            assertEquals(GAMES, archive.games());
+            ArchivedBowlingGame archivedGame = archive.game(0);
+            for (int g = GAMES - 1; 0 <= g; g--) {
+                archivedGame.moveTo(g);
+                assertSameGame(roll(games[g]), archivedGame, Arrays.toString(games[g]));
+            }
+        }
+    }
+
+    @DisplayName("when packed games are archived, then they are read like written by their rolls")
+    @Test
+    void whenPackedGamesAreArchived_thenTheyAreReadLikeWrittenByTheirRolls() throws IOException {
+        int[][] games = randomGames();
+        Path file = directory.resolve("packed.bga");
+        try (BowlingGameArchiveWriter writer = new BowlingGameArchiveWriter(file)) {
+            for (int[] game : games) {
+                PackedBowlingGame packedGame = new PackedBowlingGame();
+                for (int pins : game) {
+                    packedGame.roll(pins);
+                }
+                writer.write(packedGame);
+            }
+        }
+        assertArrayEquals(Files.readAllBytes(write(games)), Files.readAllBytes(file));
+    }
+
+    @DisplayName("when an archived game is copied, then the copy can be changed without changing the archive")
+    @Test
+    void whenAnArchivedGameIsCopied_thenTheCopyCanBeChangedWithoutChangingTheArchive() throws IOException {
+        int[][] games = randomGames();
+        try (BowlingGameArchive archive = BowlingGameArchive.open(write(games))) {
+            ArchivedBowlingGame game = archive.game(GAMES - 1);
+            PackedBowlingGame copy = game.toPackedGame();
+            assertSameGame(copy, game, Arrays.toString(games[GAMES - 1]));
+            assertEquals(BowlingGame.ROLL_GAME_OVER, copy.tryRoll(0));
+            copy.undoLastRoll();
+            assertFalse(copy.isOver());
+
+            game.moveTo(GAMES - 1);
+            assertSameGame(roll(games[GAMES - 1]), game, Arrays.toString(games[GAMES - 1]));
+            assertThrows(IndexOutOfBoundsException.class, () -> game.moveTo(GAMES));
+            assertEquals(GAMES - 1, game.index());
+        }
+    }
+
+    @DisplayName("when an invalid or unfinished game is written, then an IllegalArgumentException is thrown")
+    @Test
+    void whenAnInvalidOrUnfinishedGameIsWritten_thenIllegalArgumentExceptionIsThrown() throws IOException {
+        try (BowlingGameArchiveWriter writer = new BowlingGameArchiveWriter(directory.resolve("invalid.bga"))) {
+            assertThrows(IllegalArgumentException.class, () -> writer.write(new int[]{10, 10, 10}));
+            assertThrows(IllegalArgumentException.class, () -> writer.write(new PackedBowlingGame()));
+            assertEquals(0, writer.games());
+        }
+    }
+
+    @DisplayName("when a file is no archive, then an IOException is thrown")
+    @Test
+    void whenAFileIsNoArchive_thenIOExceptionIsThrown() throws IOException {
+        Path file = directory.resolve("no.bga");
+        Files.write(file, "X X X X X X X X X X X X\n".getBytes());
+        assertThrows(IOException.class, () -> BowlingGameArchive.open(file));
+    }
+
+    private Path write(int[][] games) throws IOException {
+        Path file = directory.resolve("rolls.bga");
+        try (BowlingGameArchiveWriter writer = new BowlingGameArchiveWriter(file)) {
+            for (int[] game : games) {
+                writer.write(game);
+            }
+            assertEquals(games.length, writer.games());
+        }
+        return file;
+    }
+
+    private static int[][] randomGames() {
+        Random random = new Random(13);
+        int[][] games = new int[GAMES][];
+        for (int g = 0; g < GAMES; g++) {
+            games[g] = RandomBowlingGames.validGame(random);
+        }
+        return games;
+    }
+
+    private static BowlingGame roll(int[] rolls) {
+        BowlingGame game = new LazyScoringBowlingGame();
+        for (int pins : rolls) {
+            game.roll(pins);
+        }
+        return game;
+    }
+
+    private static void assertSameGame(BowlingGame expected, ArchivedBowlingGame actual, String rolls) {
+        assertEquals(expected.score(), actual.score(), rolls);
+        assertEquals(expected.currentFrame(), actual.currentFrame(), rolls);
+        assertEquals(expected.currentRollInFrame(), actual.currentRollInFrame(), rolls);
+        assertEquals(expected.isPreviousRollStrike(), actual.isPreviousRollStrike(), rolls);
+        assertEquals(expected.isPreviousFrameSpare(), actual.isPreviousFrameSpare(), rolls);
+        assertEquals(expected.isOver(), actual.isOver(), rolls);
+        int[] expectedScores = new int[BowlingGame.LAST_FRAME];
+        int[] actualScores = new int[BowlingGame.LAST_FRAME];
+        assertEquals(expected.scores(expectedScores), actual.scores(actualScores), rolls);
+        assertArrayEquals(expectedScores, actualScores, rolls);
+        for (int f = 1; f <= BowlingGame.LAST_FRAME; f++) {
+            assertEquals(expected.score(f), actual.score(f), rolls);
+        }
+    }
+}
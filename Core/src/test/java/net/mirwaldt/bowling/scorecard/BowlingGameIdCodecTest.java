@@ -0,0 +1,84 @@
+package net.mirwaldt.bowling.scorecard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static net.mirwaldt.bowling.scorecard.BowlingGameIdCodec.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BowlingGameIdCodecTest {
+    @DisplayName("when the rolls are the first games in order, then the ids are 0, 1, 2, ...")
+    @ParameterizedTest(name = "when the rolls are \"{0}\", then the id is {1}")
+    @CsvSource(delimiter = ';', value = {
+            "; 0",
+            "0; 1",
+            "0 0; 2",
+            "0 0 0; 3"})
+    void whenTheRollsAreTheFirstGamesInOrder_thenTheIdsAreConsecutive(String rolls, long id) {
+        assertEquals(id, encode(rolls(rolls)));
+    }
+
+    @DisplayName("when all ids are decoded, then the last one is the perfect game")
+    @Test
+    void whenAllIdsAreDecoded_thenTheLastOneIsThePerfectGame() {
+        int[] rolls = new int[21];
+        int length = decode(COUNT - 1, rolls);
+        assertArrayEquals(rolls("10 10 10 10 10 10 10 10 10 10 10 10"), Arrays.copyOf(rolls, length));
+        assertThrows(IllegalArgumentException.class, () -> decode(COUNT, rolls));
+        assertThrows(IllegalArgumentException.class, () -> decode(-1));
+    }
+
+    @DisplayName("when consecutive ids are decoded, then they are valid games which are encoded to the same ids")
+    @Test
+    void whenConsecutiveIdsAreDecoded_thenTheyAreValidGamesWhichAreEncodedToTheSameIds() {
+        int[] rolls = new int[21];
+        for (long id = 0; id < 100_000; id++) {
+            int length = decode(id, rolls);
+            BowlingGame game = new LazyScoringBowlingGame();
+            for (int r = 0; r < length; r++) {
+                game.roll(rolls[r]);
+            }
+            assertEquals(id, encode(rolls, 0, length));
+        }
+    }
+
+    @DisplayName("when random games and their beginnings are encoded, then they are decoded like rolled")
+    @Test
+    void whenRandomGamesAndTheirBeginningsAreEncoded_thenTheyAreDecodedLikeRolled() {
+        Random random = new Random(17);
+        int[] decodedRolls = new int[21];
+        for (int i = 0; i < 10_000; i++) {
+            int[] rolls = RandomBowlingGames.validGame(random);
+            int length = random.nextInt(rolls.length + 1);
+            PackedBowlingGame game = new PackedBowlingGame();
+            for (int r = 0; r < length; r++) {
+                game.roll(rolls[r]);
+            }
+
+            long id = encode(rolls, 0, length);
+            assertTrue(0 <= id && id < COUNT);
+            assertEquals(id, encode(game));
+            PackedBowlingGame decodedGame = decode(id);
+            assertEquals(game.low(), decodedGame.low(), () -> Arrays.toString(rolls));
+            assertEquals(game.high(), decodedGame.high(), () -> Arrays.toString(rolls));
+            assertEquals(length, decode(id, decodedRolls));
+            assertArrayEquals(Arrays.copyOf(rolls, length), Arrays.copyOf(decodedRolls, length));
+        }
+    }
+
+    @DisplayName("when the rolls are invalid, then an IllegalArgumentException is thrown")
+    @ParameterizedTest(name = "when the rolls are \"{0}\", then an IllegalArgumentException is thrown")
+    @CsvSource({"11", "-1", "5 6", "0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0"})
+    void whenTheRollsAreInvalid_thenIllegalArgumentExceptionIsThrown(String rolls) {
+        assertThrows(IllegalArgumentException.class, () -> encode(rolls(rolls)));
+    }
+
+    private static int[] rolls(String rolls) {
+        return (rolls == null) ? new int[0] : Arrays.stream(rolls.trim().split(" +")).mapToInt(Integer::parseInt).toArray();
+    }
+}
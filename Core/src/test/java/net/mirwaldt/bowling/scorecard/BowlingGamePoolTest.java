@@ -0,0 +1,51 @@
+package net.mirwaldt.bowling.scorecard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BowlingGamePoolTest {
+    @DisplayName("when a game is released, then it is acquired again without rolls")
+    @Test
+    void whenAGameIsReleased_thenItIsAcquiredAgainWithoutRolls() {
+        BowlingGamePool<LazyScoringBowlingGame> pool = new BowlingGamePool<>(LazyScoringBowlingGame::new);
+        LazyScoringBowlingGame game = pool.acquire();
+        game.roll(10);
+        pool.release(game);
+        assertEquals(1, pool.size());
+
+        assertSame(game, pool.acquire());
+        assertEquals(0, pool.size());
+        assertEquals(0, game.currentFrame());
+        assertEquals(0, game.score());
+    }
+
+    @DisplayName("when the pool is full, then a released game is dropped")
+    @Test
+    void whenThePoolIsFull_thenAReleasedGameIsDropped() {
+        BowlingGamePool<BowlingGame> pool = new BowlingGamePool<>(PackedBowlingGame::new, 1);
+        BowlingGame first = pool.acquire();
+        BowlingGame second = pool.acquire();
+        assertNotSame(first, second);
+        pool.release(first);
+        pool.release(second);
+        assertEquals(1, pool.size());
+        assertSame(first, pool.acquire());
+        assertThrows(IllegalArgumentException.class, () -> new BowlingGamePool<>(PackedBowlingGame::new, 0));
+    }
+
+    @DisplayName("when many games are scored by the pool, then the scores are the same as by new games")
+    @Test
+    void whenManyGamesAreScoredByThePool_thenTheScoresAreTheSameAsByNewGames() {
+        BowlingGamePool<BowlingGame> pool = new BowlingGamePool<>(EagerScoringBowlingGame::new);
+        Random random = new Random(19);
+        for (int i = 0; i < 10_000; i++) {
+            int[] rolls = RandomBowlingGames.validGame(random);
+            assertEquals(BowlingGameValidator.validate(rolls), pool.score(rolls));
+        }
+        assertEquals(1, pool.size());
+    }
+}
@@ -0,0 +1,73 @@
+package net.mirwaldt.bowling.scorecard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import static net.mirwaldt.bowling.scorecard.BowlingGameScorecardCodec.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BowlingGameScorecardCodecTest {
+    private final BowlingGameScorecardCodec codec = new BowlingGameScorecardCodec();
+
+    @DisplayName("when random games and their beginnings are encoded, then they are decoded like rolled and scored")
+    @Test
+    void whenRandomGamesAndTheirBeginningsAreEncoded_thenTheyAreDecodedLikeRolledAndScored() {
+        Random random = new Random(23);
+        ByteBuffer buffer = ByteBuffer.allocate(2 * SCORECARD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        PackedBowlingGame decodedGame = new PackedBowlingGame();
+        for (int i = 0; i < 10_000; i++) {
+            int[] rolls = RandomBowlingGames.validGame(random);
+            int length = random.nextInt(rolls.length + 1);
+            BowlingGame game = new LazyScoringBowlingGame();
+            for (int r = 0; r < length; r++) {
+                game.roll(rolls[r]);
+            }
+
+            buffer.clear();
+            buffer.position(SCORECARD_SIZE);
+            codec.encode(game.snapshot(), buffer);
+            assertEquals(2 * SCORECARD_SIZE, buffer.position());
+            buffer.position(SCORECARD_SIZE);
+            decode(buffer, decodedGame);
+            assertEquals(2 * SCORECARD_SIZE, buffer.position());
+
+            String message = Arrays.toString(Arrays.copyOf(rolls, length));
+            assertEquals(game.snapshot(), decodedGame.snapshot(), message);
+            for (int f = 1; f <= BowlingGame.LAST_FRAME; f++) {
+                int score = (f <= game.currentFrame()) ? game.score(f) : 0;
+                assertEquals(score, score(buffer, SCORECARD_SIZE, f), message);
+            }
+            assertEquals(game.currentFrame(), currentFrame(buffer, SCORECARD_SIZE), message);
+            assertEquals(game.currentRollInFrame(), currentRollInFrame(buffer, SCORECARD_SIZE), message);
+            assertEquals(game.isOver(), isOver(buffer, SCORECARD_SIZE), message);
+        }
+    }
+
+    @DisplayName("when the perfect game is encoded, then every frame is scored")
+    @Test
+    void whenThePerfectGameIsEncoded_thenEveryFrameIsScored() {
+        PackedBowlingGame game = new PackedBowlingGame();
+        for (int r = 0; r < 12; r++) {
+            game.roll(10);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(SCORECARD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        codec.encode(game, buffer);
+        for (int f = 1; f <= BowlingGame.LAST_FRAME; f++) {
+            assertEquals(30 * f, score(buffer, 0, f));
+        }
+        assertTrue(isOver(buffer, 0));
+    }
+
+    @DisplayName("when a buffer is in big endian, then it is rejected")
+    @Test
+    void whenABufferIsInBigEndian_thenItIsRejected() {
+        ByteBuffer buffer = ByteBuffer.allocate(SCORECARD_SIZE);
+        assertThrows(IllegalArgumentException.class, () -> codec.encode(new PackedBowlingGame(), buffer));
+        assertThrows(IllegalArgumentException.class, () -> decode(buffer, new PackedBowlingGame()));
+    }
+}
@@ -8,6 +8,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static org.junit.jupiter.api.Assertions.*;
@@ -66,6 +69,24 @@ public abstract class BowlingGameTest {
         void whenAnInvalidNumberOfPinsAreHit_thenThrowAnIllegalArgumentException(int n) {
             assertThrows(IllegalArgumentException.class, () -> game.roll(n));
         }
+
+        @DisplayName("when a invalid number of pins are tried, then the roll is out of range and nothing changes")
+        @ParameterizedTest(name = "when {0} pins are tried, then the roll is out of range and nothing changes")
+        @ValueSource(ints = {-1, 11, 16, Integer.MIN_VALUE})
+        void whenAnInvalidNumberOfPinsAreTried_thenRollIsOutOfRangeAndNothingChanges(int n) {
+            int score = game.score();
+
+            assertEquals(BowlingGame.ROLL_OUT_OF_RANGE, game.tryRoll(n));
+            assertFalse(game.isOver());
+            assertEquals(startFrame, game.currentFrame());
+            assertEquals(rollInFrame, game.currentRollInFrame());
+            assertEquals(score, game.score());
+
+            assertEquals(BowlingGame.ROLL_OK, game.tryRoll(1));
+            assertEquals(startFrame + 1, game.currentFrame());
+            assertEquals(1, game.currentRollInFrame());
+            assertEquals(score + 1, game.score());
+        }
     }
 
     @DisplayName("Given two rolls")
@@ -191,6 +212,25 @@ public abstract class BowlingGameTest {
 
             assertThrows(IllegalArgumentException.class, () -> game.roll(n));
         }
+
+        @DisplayName("when m pins are hit first and n are tried second so that 10 < m + n," +
+                "then the frame overflows and nothing changes")
+        @ParameterizedTest(name = "when {0} pins are hit first and {1} are tried second so that 10 < {0} + {1}," +
+                "then the frame overflows and nothing changes")
+        @CsvSource({"3, 8", "7, 6", "1, 10"})
+        void whenMoreThan10PinsAreTried_thenFrameOverflowsAndNothingChanges(int m, int n) {
+            assertEquals(BowlingGame.ROLL_OK, game.tryRoll(m));
+
+            assertEquals(BowlingGame.ROLL_FRAME_OVERFLOW, game.tryRoll(n));
+            assertFalse(game.isOver());
+            assertEquals(startFrame + 1, game.currentFrame());
+            assertEquals(1, game.currentRollInFrame());
+            assertEquals(game.score(startFrame) + m, game.score());
+
+            assertEquals(BowlingGame.ROLL_OK, game.tryRoll(10 - m));
+            assertTrue(game.isPreviousFrameSpare());
+            assertEquals(2, game.currentRollInFrame());
+        }
     }
 
     @DisplayName("Given three rolls")
@@ -711,6 +751,9 @@ public abstract class BowlingGameTest {
             assertTrue(game.isOver());
 
             assertThrows(IllegalStateException.class, () -> game.roll(1));
+            assertEquals(BowlingGame.ROLL_GAME_OVER, game.tryRoll(1));
+            assertEquals(10, game.currentFrame());
+            assertEquals(2, game.currentRollInFrame());
         }
 
         @DisplayName("when always strike, then the score is 300")
@@ -942,6 +985,161 @@ public abstract class BowlingGameTest {
 
             assertTrue(game.isOver());
         }
+
+        @DisplayName("when all scores are written after each roll, then they are the scores of the frames")
+        @Test
+        void whenAllScoresAreWrittenAfterEachRoll_thenTheyAreTheScoresOfTheFrames() {
+            int[] scores = new int[10];
+            assertEquals(0, game.scores(scores));
+
+            for (int pins : new int[]{8, 2, 9, 0, 10, 5, 4, 7, 3, 10, 10, 10, 0, 5, 10, 10, 10}) {
+                game.roll(pins);
+
+                assertEquals(game.currentFrame(), game.scores(scores));
+                for (int f = 1; f <= game.currentFrame(); f++) {
+                    assertEquals(game.score(f), scores[f - 1]);
+                }
+            }
+            assertEquals(game.score(), scores[9]);
+
+            assertTrue(game.isOver());
+        }
+
+        @DisplayName("when the game is reset after a whole game, then it is played like a new game")
+        @Test
+        void whenTheGameIsResetAfterAWholeGame_thenItIsPlayedLikeANewGame() {
+            for (int i = 0; i < 21; i++) {
+                game.roll(5);
+            }
+            assertEquals(150, game.score());
+
+            game.reset();
+            assertEquals(0, game.currentFrame());
+            assertEquals(0, game.currentRollInFrame());
+            assertEquals(0, game.score());
+            assertFalse(game.isOver());
+
+            for (int i = 0; i < 12; i++) {
+                game.roll(10);
+            }
+            for (int f = 1; f <= 10; f++) {
+                assertEquals(30 * f, game.score(f));
+            }
+            assertEquals(300, game.score());
+            assertTrue(game.isOver());
+        }
+
+        @DisplayName("when all rolls are undone, then the game goes back through the same states")
+        @Test
+        void whenAllRollsAreUndone_thenTheGameGoesBackThroughTheSameStates() {
+            Random random = new Random(23);
+            for (int i = 0; i < 1000; i++) {
+                game.reset();
+                int[] rolls = RandomBowlingGames.validGame(random);
+                BowlingGameSnapshot[] snapshots = new BowlingGameSnapshot[rolls.length + 1];
+                int[] scores = new int[rolls.length + 1];
+                int[] frames = new int[rolls.length + 1];
+                for (int r = 0; r <= rolls.length; r++) {
+                    snapshots[r] = game.snapshot();
+                    scores[r] = game.score();
+                    frames[r] = game.currentFrame();
+                    if (r < rolls.length) {
+                        game.roll(rolls[r]);
+                    }
+                }
+                assertEquals(BowlingGameSnapshot.EMPTY, snapshots[0]);
+
+                for (int r = rolls.length - 1; 0 <= r; r--) {
+                    game.undoLastRoll();
+                    assertEquals(snapshots[r], game.snapshot(), Arrays.toString(rolls));
+                    assertEquals(scores[r], game.score(), Arrays.toString(rolls));
+                    assertEquals(frames[r], game.currentFrame(), Arrays.toString(rolls));
+                    assertFalse(game.isOver());
+                }
+                assertThrows(IllegalStateException.class, () -> game.undoLastRoll());
+            }
+        }
+
+        @DisplayName("when a snapshot is restored, then the game continues from it like a game with its rolls")
+        @Test
+        void whenASnapshotIsRestored_thenTheGameContinuesFromItLikeAGameWithItsRolls() {
+            for (int pins : new int[]{8, 2, 9, 0, 10, 5, 4}) {
+                game.roll(pins);
+            }
+            BowlingGameSnapshot fork = game.snapshot();
+            for (int pins : new int[]{7, 3, 10, 10, 10, 0, 5, 6, 4, 10}) {
+                game.roll(pins);
+            }
+            assertEquals(166, game.score());
+
+            game.restore(fork);
+            assertEquals(fork, game.snapshot());
+            assertEquals(4, game.currentFrame());
+            assertEquals(2, game.currentRollInFrame());
+            assertEquals(56, game.score());
+            for (int i = 0; i < 8; i++) {
+                game.roll(10);
+            }
+            assertEquals(236, game.score());
+            assertTrue(game.isOver());
+
+            PackedBowlingGame otherGame = new PackedBowlingGame();
+            otherGame.roll(3);
+            game.restore(otherGame.snapshot());
+            assertEquals(3, game.score());
+            assertEquals(1, game.currentRollInFrame());
+        }
+
+        @DisplayName("when a roll is made, then the changed frames are the frame of the roll and the frames with its bonus")
+        @ParameterizedTest(name = "when the rolls are {0}, then the changed frames are {1}")
+        @CsvSource(delimiter = ';', value = {
+                "; 0",
+                "3; 1",
+                "3 4; 1",
+                "3 4 5; 2",
+                "3 7 5; 3",
+                "10 5; 3",
+                "10 5 4; 3",
+                "10 10 10; 7",
+                "10 10 10 10 10 10 10 10 10 10; 896",
+                "10 10 10 10 10 10 10 10 10 10 10; 768",
+                "10 10 10 10 10 10 10 10 10 10 10 10; 512",
+                "0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 10 1 9 5; 512",
+                "0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 10 1 9; 768"})
+        void whenARollIsMade_thenTheChangedFramesAreTheFrameOfTheRollAndTheFramesWithItsBonus(String rolls, int changedFrames) {
+            if (rolls != null) {
+                for (String pins : rolls.split(" ")) {
+                    game.roll(Integer.parseInt(pins));
+                }
+            }
+            assertEquals(changedFrames, game.changedFrames());
+        }
+
+        @DisplayName("when random games are played, then every frame whose score changes is a changed frame")
+        @Test
+        void whenRandomGamesArePlayed_thenEveryFrameWhoseScoreChangesIsAChangedFrame() {
+            Random random = new Random(29);
+            int[] scoresBefore = new int[10];
+            int[] scoresAfter = new int[10];
+            for (int i = 0; i < 1000; i++) {
+                game.reset();
+                int[] rolls = RandomBowlingGames.validGame(random);
+                for (int pins : rolls) {
+                    int framesBefore = game.scores(scoresBefore);
+                    game.roll(pins);
+                    int framesAfter = game.scores(scoresAfter);
+                    int changedFrames = game.changedFrames();
+                    for (int f = 1; f <= framesAfter; f++) {
+                        boolean isChanged = framesBefore < f || scoresBefore[f - 1] != scoresAfter[f - 1];
+                        if (isChanged) {
+                            assertTrue(BowlingGame.isChangedFrame(changedFrames, f), Arrays.toString(rolls));
+                        }
+                    }
+                    assertTrue(Integer.bitCount(changedFrames) <= 3, Arrays.toString(rolls));
+                    assertEquals(framesAfter, 32 - Integer.numberOfLeadingZeros(changedFrames), Arrays.toString(rolls));
+                }
+            }
+        }
     }
 
     @DisplayName("Given one roll after one frame")
@@ -0,0 +1,106 @@
+package net.mirwaldt.bowling.scorecard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static net.mirwaldt.bowling.scorecard.BowlingGameValidator.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BowlingGameValidatorTest {
+    @DisplayName("when the rolls are a whole game, then the result is the score")
+    @ParameterizedTest(name = "when the rolls are {0}, then the result is the score {1}")
+    @CsvSource(delimiter = ';', value = {
+            "10 10 10 10 10 10 10 10 10 10 10 10; 300",
+            "0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0; 0",
+            "5 5 5 5 5 5 5 5 5 5 5 5 5 5 5 5 5 5 5 5 5; 150",
+            "8 2 9 0 10 5 4 7 3 10 10 10 0 5 6 4 10; 166",
+            "10 10 10 10 10 10 10 10 10 0 10 0; 260",
+            "10 10 10 10 10 10 10 10 10 10 5 7; 287"})
+    void whenTheRollsAreAWholeGame_thenTheResultIsTheScore(String rolls, int score) {
+        long result = validate(rolls(rolls));
+        assertTrue(isValid(result));
+        assertEquals(score, score(result));
+    }
+
+    @DisplayName("when a roll is invalid, then the result is the index and the kind of the first invalid roll")
+    @ParameterizedTest(name = "when the rolls are {0}, then the first invalid roll has index {1} and kind {2}")
+    @CsvSource(delimiter = ';', value = {
+            "1 2 11 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0; 2; " + OUT_OF_RANGE,
+            "1 2 -1 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0; 2; " + OUT_OF_RANGE,
+            "1 2 3 8 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0; 3; " + FRAME_OVERFLOW,
+            "0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 3 8; 19; " + FRAME_OVERFLOW,
+            "10 10 10 10 10 10 10 10 10 10 10 10 10; 12; " + TOO_MANY_ROLLS,
+            "0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 9 0 0; 20; " + BAD_BONUS,
+            "0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 9; 19; " + TOO_FEW_ROLLS,
+            "10 10 10 10 10 10 10 10 10 10 10; 11; " + TOO_FEW_ROLLS,
+            "10 10 10 10 10 10 10 10 10 10 10 11; 11; " + OUT_OF_RANGE,
+            "; 0; " + TOO_FEW_ROLLS})
+    void whenARollIsInvalid_thenTheResultIsTheIndexAndKindOfTheFirstInvalidRoll(String rolls, int index, int kind) {
+        long result = validate(rolls(rolls));
+        assertFalse(isValid(result));
+        assertEquals(index, invalidIndex(result));
+        assertEquals(kind, invalidKind(result));
+        assertThrows(IllegalArgumentException.class, () -> score(result));
+    }
+
+    @DisplayName("when only a part of the array is validated, then the index is the index in the array")
+    @Test
+    void whenOnlyAPartOfTheArrayIsValidated_thenTheIndexIsTheIndexInTheArray() {
+        int[] rolls = rolls("7 7 10 10 10 10 10 10 10 10 10 10 10 10 7 11");
+        assertEquals(300, validate(rolls, 2, 14));
+        assertEquals(14, invalidIndex(validate(rolls, 2, 15)));
+        assertEquals(TOO_MANY_ROLLS, invalidKind(validate(rolls, 2, 15)));
+    }
+
+    @DisplayName("when random rolls are validated, then the result is the same as rolling them one by one")
+    @Test
+    void whenRandomRollsAreValidated_thenTheResultIsTheSameAsRollingThemOneByOne() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            int[] rolls = RandomBowlingGames.mostlyValidGame(random);
+            assertEquals(rollOneByOne(rolls), validate(rolls), () -> Arrays.toString(rolls));
+        }
+    }
+
+    @DisplayName("when the last frame has too many pins, then the validator rejects it like the lazy game but unlike the eager game")
+    @Test
+    void whenTheLastFrameHasTooManyPins_thenTheValidatorRejectsItLikeTheLazyGameButUnlikeTheEagerGame() {
+        int[] rolls = rolls("0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 3 8");
+        long result = validate(rolls);
+        assertEquals(19, invalidIndex(result));
+        assertEquals(FRAME_OVERFLOW, invalidKind(result));
+        assertEquals(result, rollOneByOne(rolls));
+
+        BowlingGame eagerGame = new EagerScoringBowlingGame();
+        for (int i = 0; i < rolls.length - 1; i++) {
+            eagerGame.roll(rolls[i]);
+        }
+        assertEquals(BowlingGame.ROLL_OK, eagerGame.tryRoll(rolls[rolls.length - 1]));
+    }
+
+    private static long rollOneByOne(int[] rolls) {
+        BowlingGame game = new LazyScoringBowlingGame();
+        for (int i = 0; i < rolls.length; i++) {
+            boolean isOverAfterSecondRoll = game.isOver() && game.currentRollInFrame() == 2;
+            int status = game.tryRoll(rolls[i]);
+            if (status == BowlingGame.ROLL_GAME_OVER) {
+                return -1 - (((long) i << 3) | (isOverAfterSecondRoll ? BAD_BONUS : TOO_MANY_ROLLS));
+            } else if (status != BowlingGame.ROLL_OK) {
+                return -1 - (((long) i << 3) | status);
+            }
+        }
+        if (!game.isOver()) {
+            return -1 - (((long) rolls.length << 3) | TOO_FEW_ROLLS);
+        }
+        return game.score();
+    }
+
+    private static int[] rolls(String rolls) {
+        return (rolls == null) ? new int[0] : Arrays.stream(rolls.trim().split(" +")).mapToInt(Integer::parseInt).toArray();
+    }
+}
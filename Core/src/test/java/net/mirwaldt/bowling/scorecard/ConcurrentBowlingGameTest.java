@@ -0,0 +1,87 @@
+package net.mirwaldt.bowling.scorecard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentBowlingGameTest extends BowlingGameTest {
+    private static final int READERS = 4;
+
+    public ConcurrentBowlingGameTest() {
+        game = new ConcurrentBowlingGame();
+    }
+
+    @DisplayName("when readers read while a writer rolls, then they never see a torn scorecard")
+    @Test
+    void whenReadersReadWhileAWriterRolls_thenTheyNeverSeeATornScorecard() throws Exception {
+        int[][] games = new int[16][];
+        Set<String> scorecards = new HashSet<>();
+        Random random = new Random(29);
+        for (int g = 0; g < games.length; g++) {
+            games[g] = RandomBowlingGames.validGame(random);
+            BowlingGame expectedGame = new LazyScoringBowlingGame();
+            scorecards.add(scorecard(expectedGame));
+            for (int pins : games[g]) {
+                expectedGame.roll(pins);
+                scorecards.add(scorecard(expectedGame));
+            }
+        }
+
+        ConcurrentBowlingGame game = new ConcurrentBowlingGame();
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(READERS);
+        try {
+            Future<?>[] readers = new Future<?>[READERS];
+            for (int r = 0; r < READERS; r++) {
+                readers[r] = executor.submit(() -> {
+                    int[] scores = new int[BowlingGame.LAST_FRAME];
+                    start.await();
+                    long reads = 0;
+                    while (isWriting.get() || reads == 0) {
+                        int frames = game.scores(scores);
+                        String scorecard = Arrays.toString(Arrays.copyOf(scores, frames));
+                        assertTrue(scorecards.contains(scorecard), scorecard);
+
+                        BowlingGame restoredGame = new LazyScoringBowlingGame();
+                        restoredGame.restore(game.snapshot());
+                        assertTrue(scorecards.contains(scorecard(restoredGame)));
+                        reads++;
+                    }
+                    return reads;
+                });
+            }
+
+            start.countDown();
+            for (int i = 0; i < 20_000; i++) {
+                game.reset();
+                for (int pins : games[i % games.length]) {
+                    game.roll(pins);
+                }
+            }
+            isWriting.set(false);
+            for (Future<?> reader : readers) {
+                assertTrue(0 < (Long) reader.get(1, TimeUnit.MINUTES));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String scorecard(BowlingGame game) {
+        int[] scores = new int[BowlingGame.LAST_FRAME];
+        return Arrays.toString(Arrays.copyOf(scores, game.scores(scores)));
+    }
+}
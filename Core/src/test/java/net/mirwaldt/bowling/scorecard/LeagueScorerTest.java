@@ -0,0 +1,108 @@
+package net.mirwaldt.bowling.scorecard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeagueScorerTest {
+    private static final int BOWLERS = 2_000;
+
+    private final int[][][] gamesOfBowlers = new int[BOWLERS][][];
+
+    public LeagueScorerTest() {
+        Random random = new Random(13);
+        for (int b = 0; b < BOWLERS; b++) {
+            gamesOfBowlers[b] = new int[random.nextInt(6)][];
+            for (int g = 0; g < gamesOfBowlers[b].length; g++) {
+                gamesOfBowlers[b][g] = RandomBowlingGames.validGame(random);
+            }
+        }
+    }
+
+    @DisplayName("when a league is scored in parallel, then the scores are the same as by rolling each game")
+    @ParameterizedTest(name = "when a league is scored by {0} threads and {1} games per task, "
+            + "then the scores are the same as by rolling each game")
+    @CsvSource({"1, 4096", "4, 16", "8, 1"})
+    void whenALeagueIsScoredInParallel_thenScoresAreTheSameAsByRollingEachGame(int parallelism, int gamesPerTask) {
+        LeagueScores scores;
+        try (LeagueScorer leagueScorer = new LeagueScorer(parallelism, gamesPerTask)) {
+            scores = leagueScorer.score(gamesOfBowlers);
+        }
+
+        long totalScore = 0;
+        int highGameIndex = -1;
+        int highSeriesBowler = -1;
+        int g = 0;
+        for (int b = 0; b < BOWLERS; b++) {
+            int series = 0;
+            for (int[] rolls : gamesOfBowlers[b]) {
+                BowlingGame game = new LazyScoringBowlingGame();
+                for (int pins : rolls) {
+                    game.roll(pins);
+                }
+                assertEquals(game.score(), scores.gameScores()[g]);
+                if (highGameIndex < 0 || scores.gameScores()[highGameIndex] < game.score()) {
+                    highGameIndex = g;
+                }
+                series += game.score();
+                g++;
+            }
+            assertEquals(series, scores.series()[b]);
+            if (highSeriesBowler < 0 || scores.series()[highSeriesBowler] < series) {
+                highSeriesBowler = b;
+            }
+            totalScore += series;
+        }
+
+        assertEquals(g, scores.games());
+        assertEquals(totalScore, scores.totalScore());
+        assertEquals((double) totalScore / g, scores.average());
+        assertEquals(highGameIndex, scores.highGameIndex());
+        assertEquals(highSeriesBowler, scores.highSeriesBowler());
+    }
+
+    @DisplayName("when high scores are tied, then the first game and the first bowler win")
+    @Test
+    void whenHighScoresAreTied_thenTheFirstGameAndTheFirstBowlerWin() {
+        int[] perfectGame = {10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10};
+        int[] gutterGame = new int[20];
+        int[][][] league = {{gutterGame}, {perfectGame, gutterGame}, {gutterGame, perfectGame}, {perfectGame}};
+
+        try (LeagueScorer leagueScorer = new LeagueScorer(4, 1)) {
+            LeagueScores scores = leagueScorer.score(league);
+            assertEquals(1, scores.highGameIndex());
+            assertEquals(300, scores.highGame());
+            assertEquals(1, scores.highSeriesBowler());
+            assertEquals(300, scores.highSeries());
+            assertArrayEquals(new int[]{0, 300, 300, 300}, scores.series());
+        }
+    }
+
+    @DisplayName("when there are no bowlers, then there are no games")
+    @Test
+    void whenThereAreNoBowlers_thenThereAreNoGames() {
+        LeagueScores scores = new LeagueScorer().score(new int[0][][]);
+        assertEquals(0, scores.games());
+        assertEquals(0, scores.average());
+        assertEquals(-1, scores.highGameIndex());
+        assertEquals(-1, scores.highSeriesBowler());
+    }
+
+    @DisplayName("when a game is invalid or unfinished, then an IllegalArgumentException is thrown")
+    @Test
+    void whenAGameIsInvalidOrUnfinished_thenAnIllegalArgumentExceptionIsThrown() {
+        LeagueScorer scorer = new LeagueScorer();
+        int[] perfectGame = {10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10};
+        assertThrows(IllegalArgumentException.class,
+                () -> scorer.score(new int[][][]{{perfectGame}, {{10, 10, 10}}}));
+        assertThrows(IllegalArgumentException.class,
+                () -> scorer.score(new int[][][]{{{7, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}}}));
+        assertThrows(IllegalArgumentException.class,
+                () -> scorer.score(new int[][][]{{{266, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}}}));
+    }
+}
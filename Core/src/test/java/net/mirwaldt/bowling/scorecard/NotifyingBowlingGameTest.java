@@ -0,0 +1,120 @@
+package net.mirwaldt.bowling.scorecard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotifyingBowlingGameTest extends BowlingGameTest {
+    private final List<String> events = new ArrayList<>();
+    private final BowlingGameListener listener = new BowlingGameListener() {
+        @Override
+        public void onRoll(int frame, int rollInFrame, int pins) {
+            events.add("roll " + frame + "." + rollInFrame + ":" + pins);
+        }
+
+        @Override
+        public void onStrike(int frame) {
+            events.add("strike " + frame);
+        }
+
+        @Override
+        public void onSpare(int frame) {
+            events.add("spare " + frame);
+        }
+
+        @Override
+        public void onFrameScored(int frame, int score) {
+            events.add("scored " + frame + ":" + score);
+        }
+
+        @Override
+        public void onGameOver(int score) {
+            events.add("over " + score);
+        }
+    };
+
+    public NotifyingBowlingGameTest() {
+        game = new NotifyingBowlingGame(listener);
+    }
+
+    @DisplayName("when rolls are made, then the listener is told about them in order")
+    @ParameterizedTest(name = "when the rolls are {0}, then the events are {1}")
+    @CsvSource(delimiter = ';', value = {
+            "3 4; roll 1.1:3, roll 1.2:4, scored 1:7",
+            "10 7 3 4; roll 1.1:10, strike 1, roll 2.1:7, roll 2.2:3, spare 2, scored 1:20, roll 3.1:4, scored 2:34",
+            "10 10 10; roll 1.1:10, strike 1, roll 2.1:10, strike 2, roll 3.1:10, strike 3, scored 1:30",
+            "0 10 5; roll 1.1:0, roll 1.2:10, spare 1, roll 2.1:5, scored 1:15"})
+    void whenRollsAreMade_thenTheListenerIsToldAboutThemInOrder(String rolls, String expectedEvents) {
+        for (String pins : rolls.split(" ")) {
+            game.roll(Integer.parseInt(pins));
+        }
+        assertEquals(expectedEvents, String.join(", ", events));
+    }
+
+    @DisplayName("when the last frame is rolled, then its strikes and spares are told and the game is over")
+    @ParameterizedTest(name = "when the last frame is {0}, then the events of it are {1}")
+    @CsvSource(delimiter = ';', value = {
+            "10 10 10; roll 10.1:10, strike 10, roll 10.2:10, strike 10, roll 10.3:10, strike 10, scored 10:30, over 30",
+            "10 4 6; roll 10.1:10, strike 10, roll 10.2:4, roll 10.3:6, spare 10, scored 10:20, over 20",
+            "4 6 10; roll 10.1:4, roll 10.2:6, spare 10, roll 10.3:10, strike 10, scored 10:20, over 20",
+            "4 5; roll 10.1:4, roll 10.2:5, scored 10:9, over 9"})
+    void whenTheLastFrameIsRolled_thenItsStrikesAndSparesAreToldAndTheGameIsOver(String rolls, String expectedEvents) {
+        for (int i = 0; i < 18; i++) {
+            game.roll(0);
+        }
+        events.clear();
+        for (String pins : rolls.split(" ")) {
+            game.roll(Integer.parseInt(pins));
+        }
+        assertEquals(expectedEvents, String.join(", ", events));
+    }
+
+    @DisplayName("when random games are played, then every frame is scored once in order with its final score")
+    @Test
+    void whenRandomGamesArePlayed_thenEveryFrameIsScoredOnceInOrderWithItsFinalScore() {
+        Random random = new Random(31);
+        for (int i = 0; i < 1000; i++) {
+            game.reset();
+            events.clear();
+            int[] rolls = RandomBowlingGames.validGame(random);
+            for (int pins : rolls) {
+                game.roll(pins);
+            }
+
+            List<String> expectedScores = new ArrayList<>();
+            for (int f = 1; f <= 10; f++) {
+                expectedScores.add("scored " + f + ":" + game.score(f));
+            }
+            expectedScores.add("over " + game.score());
+            List<String> scores = new ArrayList<>();
+            long rollEvents = 0;
+            for (String event : events) {
+                if (event.startsWith("scored") || event.startsWith("over")) {
+                    scores.add(event);
+                } else if (event.startsWith("roll")) {
+                    rollEvents++;
+                }
+            }
+            assertEquals(expectedScores, scores, Arrays.toString(rolls));
+            assertEquals(rolls.length, rollEvents, Arrays.toString(rolls));
+        }
+    }
+
+    @DisplayName("when a roll is undone, then its frame is scored again by the next roll")
+    @Test
+    void whenARollIsUndone_thenItsFrameIsScoredAgainByTheNextRoll() {
+        game.roll(3);
+        game.roll(4);
+        game.undoLastRoll();
+        game.roll(5);
+        assertEquals(Arrays.asList("roll 1.1:3", "roll 1.2:4", "scored 1:7", "roll 1.2:5", "scored 1:8"), events);
+    }
+}
@@ -0,0 +1,7 @@
+package net.mirwaldt.bowling.scorecard;
+
+public class PackedBowlingGameTest extends BowlingGameTest {
+    public PackedBowlingGameTest() {
+        game = new PackedBowlingGame();
+    }
+}
@@ -0,0 +1,68 @@
+package net.mirwaldt.bowling.scorecard;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static net.mirwaldt.bowling.scorecard.BowlingGame.LAST_FRAME;
+import static net.mirwaldt.bowling.scorecard.BowlingGame.MAX_PINS;
+
+public class RandomBowlingGames {
+    private RandomBowlingGames() {
+        // Util methods only
+    }
+
+    /**
+     * Creates the rolls of a random whole game which is valid.
+     */
+    public static int[] validGame(Random random) {
+        int[] rolls = new int[21];
+        int roll = 0;
+        for (int frame = 1; frame < LAST_FRAME; frame++) {
+            int firstRoll = pins(random, 0);
+            rolls[roll++] = firstRoll;
+            if (firstRoll < MAX_PINS) {
+                rolls[roll++] = pins(random, firstRoll);
+            }
+        }
+
+        int firstRoll = pins(random, 0);
+        rolls[roll++] = firstRoll;
+        int secondRoll = pins(random, (firstRoll < MAX_PINS) ? firstRoll : 0);
+        rolls[roll++] = secondRoll;
+        if (firstRoll == MAX_PINS || firstRoll + secondRoll == MAX_PINS) {
+            rolls[roll++] = pins(random, 0);
+        }
+        return Arrays.copyOf(rolls, roll);
+    }
+
+    /**
+     * Creates the rolls of a random valid game which is invalid sometimes
+     * because a roll has been changed, the game has been cut or rolls have been added.
+     */
+    public static int[] mostlyValidGame(Random random) {
+        int[] rolls = validGame(random);
+        switch (random.nextInt(8)) {
+            case 0:
+                rolls[random.nextInt(rolls.length)] = random.nextInt(13) - 1;
+                return rolls;
+            case 1:
+                return Arrays.copyOf(rolls, random.nextInt(rolls.length));
+            case 2:
+                int[] moreRolls = Arrays.copyOf(rolls, rolls.length + 1 + random.nextInt(2));
+                for (int i = rolls.length; i < moreRolls.length; i++) {
+                    moreRolls[i] = random.nextInt(MAX_PINS + 1);
+                }
+                return moreRolls;
+            default:
+                return rolls;
+        }
+    }
+
+    /**
+     * Strikes and spares are more likely than by uniformly distributed pins.
+     */
+    private static int pins(Random random, int pinsDown) {
+        int standing = MAX_PINS - pinsDown;
+        return (random.nextInt(3) == 0) ? standing : random.nextInt(standing + 1);
+    }
+}
@@ -0,0 +1,125 @@
+package net.mirwaldt.bowling.scorecard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ScorecardNotationReaderTest {
+    private static final String GAMES = "X X X X X X X X X X X X\n"
+            + "9- 9- 9- 9- 9- 9- 9- 9- 9- 9-\r\n"
+            + "\n"
+            + "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/|5\n"
+            + "81 X 7? X\n"
+            + "8/,9-,X,X,x,-/,F5,72,X,X9/";
+
+    @DisplayName("when a line is read, then its rolls are passed")
+    @ParameterizedTest(name = "when the line is \"{0}\", then the rolls are \"{1}\"")
+    @CsvSource(delimiter = ';', value = {
+            "X X X; 10 10 10 end",
+            "9/ 8-; 9 1 8 0 end",
+            "F5 -/; 0 5 0 10 end",
+            "X9/; 10 9 1 end",
+            "x 7 2; 10 7 2 end",
+            "X /; 10 invalid",
+            "/ 5; invalid",
+            "9//; 9 1 invalid",
+            "3 4 /; 3 4 invalid",
+            "X 7 /; 10 7 3 end",
+            "- X /; 0 10 invalid",
+            "1 2 A 3; 1 2 invalid",
+            "' '; ''"})
+    void whenALineIsRead_thenItsRollsArePassed(String line, String rolls) {
+        assertEquals(rolls, read(line));
+    }
+
+    @DisplayName("when several lines are read, then every line is a game")
+    @Test
+    void whenSeveralLinesAreRead_thenEveryLineIsAGame() {
+        assertEquals("10 10 10 10 10 10 10 10 10 10 10 10 end "
+                        + "9 0 9 0 9 0 9 0 9 0 9 0 9 0 9 0 9 0 9 0 end "
+                        + "5 5 5 5 5 5 5 5 5 5 5 5 5 5 5 5 5 5 5 5 5 end "
+                        + "8 1 10 7 invalid "
+                        + "8 2 9 0 10 10 10 0 10 0 5 7 2 10 10 9 1 end",
+                read(GAMES));
+    }
+
+    @DisplayName("when a file is read in chunks, then the games are the same as in one buffer")
+    @ParameterizedTest(name = "when a file is read in chunks of {0} bytes, then the games are the same as in one buffer")
+    @ValueSource(ints = {1, 2, 7, 64, 1 << 20})
+    void whenAFileIsReadInChunks_thenTheGamesAreTheSameAsInOneBuffer(int chunkSize, @TempDir Path directory)
+            throws IOException {
+        Path file = directory.resolve("games.txt");
+        Files.write(file, GAMES.getBytes(StandardCharsets.US_ASCII));
+        RecordingSink sink = new RecordingSink();
+        assertEquals(GAMES.length(), ScorecardNotationReader.read(file, sink, chunkSize));
+        assertEquals(read(GAMES), sink.toString());
+    }
+
+    @DisplayName("when the games are collected in batches, then valid games are scored and invalid games are passed in order")
+    @Test
+    void whenTheGamesAreCollectedInBatches_thenValidGamesAreScoredAndInvalidGamesArePassedInOrder() {
+        StringBuilder results = new StringBuilder();
+        BatchGameRollSink sink = new BatchGameRollSink(new BatchGameRollSink.Listener() {
+            @Override
+            public void scored(byte[] rolls, int[] offsets, int[] scores, int games) {
+                for (int g = 0; g < games; g++) {
+                    results.append(scores[g]).append(' ');
+                }
+                results.append("| ");
+            }
+
+            @Override
+            public void invalid(long result) {
+                results.append((result == BatchGameRollSink.UNREADABLE) ? "unreadable" : "invalid").append(" | ");
+            }
+        }, 2);
+        ScorecardNotationReader reader = new ScorecardNotationReader(sink);
+        reader.read(ByteBuffer.wrap((GAMES + "\n9- 9-\n").getBytes(StandardCharsets.US_ASCII)));
+        reader.end();
+        sink.flush();
+        assertEquals("300 90 | 150 | unreadable | 171 | invalid | ", results.toString());
+    }
+
+    private static String read(String text) {
+        RecordingSink sink = new RecordingSink();
+        ScorecardNotationReader reader = new ScorecardNotationReader(sink);
+        reader.read(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+        reader.end();
+        return sink.toString();
+    }
+
+    private static class RecordingSink implements GameRollSink {
+        private final StringBuilder rolls = new StringBuilder();
+
+        @Override
+        public void roll(int pins) {
+            rolls.append(pins).append(' ');
+        }
+
+        @Override
+        public void endGame() {
+            rolls.append("end ");
+        }
+
+        @Override
+        public void invalidGame() {
+            rolls.append("invalid ");
+        }
+
+        @Override
+        public String toString() {
+            return rolls.toString().trim();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package net.mirwaldt.bowling.scorecard;
+
+public class TableDrivenBowlingGameTest extends BowlingGameTest {
+    public TableDrivenBowlingGameTest() {
+        game = new TableDrivenBowlingGame();
+    }
+}
@@ -0,0 +1,298 @@
+package net.mirwaldt.bowling.scorecard.journal;
+
+import net.mirwaldt.bowling.scorecard.BowlingGame;
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+import net.mirwaldt.bowling.scorecard.LazyScoringBowlingGame;
+import net.mirwaldt.bowling.scorecard.PackedBowlingGame;
+import net.mirwaldt.bowling.scorecard.lane.LaneCheckpointer;
+import net.mirwaldt.bowling.scorecard.lane.LaneRuntime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RollJournalTest {
+    @TempDir
+    Path directory;
+
+    @DisplayName("when rolls are journaled, then the recovered games have the same rolls")
+    @Test
+    void whenRollsAreJournaled_thenTheRecoveredGamesHaveTheSameRolls() throws Exception {
+        try (RollJournal journal = RollJournal.open(directory)) {
+            CompletableFuture<Void> durable = null;
+            for (int sequence = 0; sequence < 12; sequence++) {
+                journal.append(1, sequence, 10);
+                durable = journal.append(2, sequence, 4);
+            }
+            durable.join();
+            assertEquals(24, journal.records());
+        }
+
+        RecoveredGames recovered = RollJournalRecovery.recover(directory, PackedBowlingGame::new);
+        assertEquals(2, recovered.games().size());
+        assertEquals(300, recovered.games().get(1L).score());
+        assertEquals(48, recovered.games().get(2L).score());
+        assertEquals(6, recovered.games().get(2L).currentFrame());
+        assertEquals(12, recovered.nextSequence(1));
+        assertEquals(0, recovered.nextSequence(3));
+        assertEquals(24, recovered.records());
+        assertEquals(0, recovered.tornRecords());
+    }
+
+    @DisplayName("when resets and undos are journaled, then they are replayed")
+    @Test
+    void whenResetsAndUndosAreJournaled_thenTheyAreReplayed() throws Exception {
+        try (RollJournal journal = RollJournal.open(directory)) {
+            int sequence = 0;
+            journal.append(7, sequence++, 9);
+            journal.append(7, sequence++, RollJournal.RESET);
+            journal.append(7, sequence++, 3);
+            journal.append(7, sequence++, 5);
+            journal.append(7, sequence++, RollJournal.UNDO);
+            journal.append(7, sequence, 6).join();
+        }
+
+        BowlingGame game = RollJournalRecovery.recover(directory, LazyScoringBowlingGame::new).games().get(7L);
+        assertEquals(9, game.score());
+        assertEquals(2, game.snapshot().rolls(new int[21]));
+    }
+
+    @DisplayName("when the last segment is torn, then the recovery stops at the first broken record")
+    @Test
+    void whenTheLastSegmentIsTorn_thenTheRecoveryStopsAtTheFirstBrokenRecord() throws Exception {
+        try (RollJournal journal = RollJournal.open(directory)) {
+            for (int sequence = 0; sequence < 4; sequence++) {
+                journal.append(1, sequence, 2).join();
+            }
+        }
+        Path segment = JournalRecords.segments(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(3 * JournalRecords.RECORD_SIZE + 5);
+        }
+
+        RecoveredGames recovered = RollJournalRecovery.recover(directory, PackedBowlingGame::new);
+        assertEquals(6, recovered.games().get(1L).score());
+        assertEquals(3, recovered.nextSequence(1));
+        assertEquals(1, recovered.tornRecords());
+    }
+
+    @DisplayName("when the journal is reopened, then the events are appended to a new segment")
+    @Test
+    void whenTheJournalIsReopened_thenTheEventsAreAppendedToANewSegment() throws Exception {
+        try (RollJournal journal = RollJournal.open(directory)) {
+            journal.append(1, 0, 10).join();
+        }
+        try (RollJournal journal = RollJournal.open(directory)) {
+            journal.append(1, 0, 10);
+            journal.append(1, 1, 10).join();
+        }
+
+        RecoveredGames recovered = RollJournalRecovery.recover(directory, PackedBowlingGame::new);
+        assertEquals(2, recovered.segments());
+        assertEquals(1, recovered.skippedEvents());
+        assertEquals(2, recovered.games().get(1L).currentFrame());
+    }
+
+    @DisplayName("when the segments are small, then the journal rolls over to new segments")
+    @Test
+    void whenTheSegmentsAreSmall_thenTheJournalRollsOverToNewSegments() throws Exception {
+        try (RollJournal journal = RollJournal.open(directory, 4 * JournalRecords.RECORD_SIZE, 2)) {
+            for (int sequence = 0; sequence < 20; sequence++) {
+                journal.append(1, sequence, 1);
+            }
+        }
+
+        RecoveredGames recovered = RollJournalRecovery.recover(directory, PackedBowlingGame::new);
+        assertTrue(1 < recovered.segments());
+        assertEquals(20, recovered.games().get(1L).score());
+        assertTrue(recovered.games().get(1L).isOver());
+    }
+
+    @DisplayName("when events are appended in a batch, then they are written together or rejected if they do not fit")
+    @Test
+    void whenEventsAreAppendedInABatch_thenTheyAreWrittenTogetherOrRejectedIfTheyDoNotFit() throws Exception {
+        try (RollJournal journal = RollJournal.open(directory, RollJournal.DEFAULT_SEGMENT_SIZE, 4)) {
+            journal.append(6, 0, 10);
+            journal.append(6, 1, 10);
+            journal.append(6, 2, new int[]{RollJournal.RESET, 7, 3}).join();
+            assertThrows(IllegalArgumentException.class, () -> journal.append(6, 5, new int[]{1, 1, 1, 1, 1}));
+        }
+
+        RecoveredGames recovered = RollJournalRecovery.recover(directory, PackedBowlingGame::new);
+        assertEquals(10, recovered.games().get(6L).score());
+        assertEquals(5, recovered.nextSequence(6));
+    }
+
+    @DisplayName("when the batches of a journal cannot hold a reset and a whole game, then the runtime rejects it")
+    @Test
+    void whenTheBatchesOfAJournalCannotHoldAResetAndAWholeGame_thenTheRuntimeRejectsIt() throws Exception {
+        try (RollJournal journal = RollJournal.open(directory, RollJournal.DEFAULT_SEGMENT_SIZE, 21)) {
+            assertEquals(21, journal.recordsPerBatch());
+            assertThrows(IllegalArgumentException.class, () -> new LaneRuntime(1, PackedBowlingGame::new, journal));
+        }
+    }
+
+    @DisplayName("when many lanes are journaled, then the recovered runtime continues the games")
+    @Test
+    void whenManyLanesAreJournaled_thenTheRecoveredRuntimeContinuesTheGames() throws Exception {
+        int lanes = 40;
+        try (RollJournal journal = RollJournal.open(directory);
+             LaneRuntime runtime = new LaneRuntime(4, LazyScoringBowlingGame::new, journal)) {
+            List<CompletableFuture<Void>> rolls = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                for (long lane = 0; lane < lanes; lane++) {
+                    rolls.add(runtime.roll(lane, (int) (lane % 5)));
+                }
+            }
+            CompletableFuture.allOf(rolls.toArray(new CompletableFuture<?>[0])).join();
+            runtime.undoLastRoll(0).join();
+            runtime.restore(1, BowlingGameSnapshot.EMPTY).join();
+        }
+
+        try (RollJournal journal = RollJournal.open(directory);
+             LaneRuntime runtime = new LaneRuntime(4, LazyScoringBowlingGame::new, journal)) {
+            runtime.recover(RollJournalRecovery.recover(directory, LazyScoringBowlingGame::new)).join();
+            assertEquals(0, runtime.read(1, BowlingGame::currentFrame).join());
+            assertEquals(9, runtime.read(0, game -> game.snapshot().rolls(new int[21])).join());
+            runtime.roll(2, 2).join();
+            for (long lane = 3; lane < lanes; lane++) {
+                assertEquals(10 * (lane % 5), (long) runtime.read(lane, BowlingGame::score).join());
+            }
+        }
+
+        RecoveredGames recovered = RollJournalRecovery.recover(directory, LazyScoringBowlingGame::new);
+        assertEquals(0, recovered.missingEvents());
+        assertEquals(0, recovered.skippedEvents());
+        assertEquals(22, recovered.games().get(2L).score());
+        assertEquals(9, recovered.games().get(0L).snapshot().rolls(new int[21]));
+    }
+
+    @DisplayName("when a game is removed and its id is used again, then the recovery has the new game")
+    @Test
+    void whenAGameIsRemovedAndItsIdIsUsedAgain_thenTheRecoveryHasTheNewGame() throws Exception {
+        try (RollJournal journal = RollJournal.open(directory);
+             LaneRuntime runtime = new LaneRuntime(2, LazyScoringBowlingGame::new, journal)) {
+            runtime.roll(4, 10).join();
+            runtime.roll(4, 10).join();
+            runtime.roll(5, 6).join();
+            assertTrue(runtime.remove(4).join());
+            assertTrue(runtime.remove(5).join());
+            runtime.roll(4, 3).join();
+            runtime.roll(4, 4).join();
+        }
+
+        RecoveredGames recovered = RollJournalRecovery.recover(directory, LazyScoringBowlingGame::new);
+        assertEquals(7, recovered.games().get(4L).score());
+        assertEquals(5, recovered.nextSequence(4));
+        assertFalse(recovered.games().containsKey(5L));
+        assertTrue(recovered.removedGames().contains(5L));
+        assertEquals(2, recovered.nextSequence(5));
+        assertEquals(0, recovered.skippedEvents());
+        assertEquals(0, recovered.missingEvents());
+
+        try (RollJournal journal = RollJournal.open(directory);
+             LaneRuntime runtime = new LaneRuntime(2, LazyScoringBowlingGame::new, journal)) {
+            runtime.recover(recovered).join();
+            runtime.checkpoint();
+            journal.compact();
+            runtime.roll(5, 2).join();
+        }
+
+        recovered = RollJournalRecovery.recover(directory, LazyScoringBowlingGame::new);
+        assertEquals(7, recovered.games().get(4L).score());
+        assertEquals(2, recovered.games().get(5L).score());
+        assertEquals(3, recovered.nextSequence(5));
+        assertEquals(0, recovered.missingEvents());
+    }
+
+    @DisplayName("when the runtime is checkpointed, then the recovery starts from the snapshot and replays only the tail")
+    @Test
+    void whenTheRuntimeIsCheckpointed_thenTheRecoveryStartsFromTheSnapshotAndReplaysOnlyTheTail() throws Exception {
+        int lanes = 30;
+        try (RollJournal journal = RollJournal.open(directory);
+             LaneRuntime runtime = new LaneRuntime(4, PackedBowlingGame::new, journal)) {
+            List<CompletableFuture<Void>> rolls = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                for (long lane = 0; lane < lanes; lane++) {
+                    rolls.add(runtime.roll(lane, 3));
+                }
+            }
+            rolls.add(runtime.roll(lanes - 1, 3));
+            CompletableFuture.allOf(rolls.toArray(new CompletableFuture<?>[0])).join();
+            long segmentNumber = runtime.checkpoint();
+            assertEquals(1, segmentNumber);
+            assertEquals(1, journal.compact());
+            assertEquals(0, journal.compact());
+            runtime.roll(0, 3).join();
+            runtime.undoLastRoll(1).join();
+        }
+
+        RecoveredGames recovered = RollJournalRecovery.recover(directory, LazyScoringBowlingGame::new);
+        assertEquals(lanes, recovered.snapshotGames());
+        assertEquals(2, recovered.records());
+        assertEquals(lanes, recovered.games().size());
+        assertEquals(33, recovered.games().get(0L).score());
+        assertEquals(27, recovered.games().get(1L).score());
+        assertEquals(33, recovered.games().get(lanes - 1L).score());
+        assertEquals(30, recovered.games().get(2L).score());
+        assertEquals(11, recovered.nextSequence(0));
+        assertEquals(10, recovered.nextSequence(2));
+    }
+
+    @DisplayName("when the journal is reopened after a compaction, then the numbers of the segments go on")
+    @Test
+    void whenTheJournalIsReopenedAfterACompaction_thenTheNumbersOfTheSegmentsGoOn() throws Exception {
+        try (RollJournal journal = RollJournal.open(directory);
+             LaneRuntime runtime = new LaneRuntime(2, PackedBowlingGame::new, journal)) {
+            runtime.roll(5, 10).join();
+            runtime.checkpoint();
+            journal.compact();
+        }
+        try (RollJournal journal = RollJournal.open(directory)) {
+            journal.append(5, 1, 10).join();
+        }
+
+        RecoveredGames recovered = RollJournalRecovery.recover(directory, PackedBowlingGame::new);
+        assertEquals(1, recovered.snapshotGames());
+        assertEquals(1, recovered.records());
+        assertEquals(2, recovered.games().get(5L).currentFrame());
+    }
+
+    @DisplayName("when a checkpointer runs in the background, then it compacts the journal")
+    @Test
+    void whenACheckpointerRunsInTheBackground_thenItCompactsTheJournal() throws Exception {
+        try (RollJournal journal = RollJournal.open(directory);
+             LaneRuntime runtime = new LaneRuntime(2, PackedBowlingGame::new, journal);
+             LaneCheckpointer checkpointer = new LaneCheckpointer(runtime, journal, 10, TimeUnit.MILLISECONDS)) {
+            for (int i = 0; i < 12; i++) {
+                runtime.roll(9, 10).join();
+                Thread.sleep(5);
+            }
+            while (checkpointer.checkpoints() < 2) {
+                Thread.sleep(5);
+            }
+            assertNull(checkpointer.failure());
+            assertTrue(0 < checkpointer.compactedFiles());
+        }
+
+        RecoveredGames recovered = RollJournalRecovery.recover(directory, PackedBowlingGame::new);
+        assertEquals(300, recovered.games().get(9L).score());
+    }
+
+    @DisplayName("when the runtime has no journal, then it cannot be checkpointed")
+    @Test
+    void whenTheRuntimeHasNoJournal_thenItCannotBeCheckpointed() throws Exception {
+        try (LaneRuntime runtime = new LaneRuntime(1)) {
+            assertThrows(IllegalStateException.class, runtime::checkpoint);
+        }
+    }
+}
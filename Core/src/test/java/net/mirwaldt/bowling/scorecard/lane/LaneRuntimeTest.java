@@ -0,0 +1,183 @@
+package net.mirwaldt.bowling.scorecard.lane;
+
+import net.mirwaldt.bowling.scorecard.BowlingGame;
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+import net.mirwaldt.bowling.scorecard.PackedBowlingGame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LaneRuntimeTest {
+    private final LaneRuntime runtime = new LaneRuntime(4);
+
+    @AfterEach
+    void close() throws InterruptedException {
+        runtime.close();
+    }
+
+    @DisplayName("when many lanes roll at the same time, then every game has its own rolls")
+    @Test
+    void whenManyLanesRollAtTheSameTime_thenEveryGameHasItsOwnRolls() {
+        int lanes = 60;
+        List<CompletableFuture<Void>> rolls = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            for (long lane = 0; lane < lanes; lane++) {
+                rolls.add(runtime.roll(lane, (int) (lane % 5)));
+            }
+        }
+        CompletableFuture.allOf(rolls.toArray(new CompletableFuture<?>[0])).join();
+
+        for (long lane = 0; lane < lanes; lane++) {
+            assertEquals(20 * (lane % 5), (long) runtime.read(lane, BowlingGame::score).join());
+            assertTrue(runtime.read(lane, BowlingGame::isOver).join());
+        }
+    }
+
+    @DisplayName("when a roll is invalid, then the future completes exceptionally like the game")
+    @Test
+    void whenARollIsInvalid_thenTheFutureCompletesExceptionallyLikeTheGame() {
+        runtime.roll(1, 7).join();
+        CompletionException e = assertThrows(CompletionException.class, () -> runtime.roll(1, 7).join());
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+        assertEquals(BowlingGame.ROLL_FRAME_OVERFLOW, runtime.tryRoll(1, 7).join());
+        assertEquals(7, runtime.read(1, BowlingGame::score).join());
+    }
+
+    @DisplayName("when a batch of rolls contains an invalid roll, then none of them is rolled")
+    @Test
+    void whenABatchOfRollsContainsAnInvalidRoll_thenNoneOfThemIsRolled() {
+        List<BowlingGameSnapshot> snapshots = new ArrayList<>();
+        runtime.open(3).join();
+        runtime.observe(3, snapshots::add).join();
+        assertEquals(BowlingGame.ROLL_OK, runtime.tryRolls(3, new int[]{10, 7, 3}).join());
+        assertEquals(BowlingGame.ROLL_FRAME_OVERFLOW, runtime.tryRolls(3, new int[]{4, 4, 5, 6}).join());
+        assertEquals(BowlingGame.ROLL_OUT_OF_RANGE, runtime.tryRolls(3, new int[]{11}).join());
+
+        assertEquals(2, snapshots.size());
+        assertEquals(20, runtime.read(3, g -> g.score(1)).join());
+        assertEquals(30, runtime.read(3, BowlingGame::score).join());
+    }
+
+    @DisplayName("when a roll has a sequence, then only the next one is rolled and a retry is a duplicate")
+    @Test
+    void whenARollHasASequence_thenOnlyTheNextOneIsRolledAndARetryIsADuplicate() {
+        LaneRoll roll = runtime.tryRoll(6, 0, 7).join();
+        assertEquals(BowlingGame.ROLL_OK, roll.status());
+        assertEquals(1, roll.nextSequence());
+
+        LaneRoll retry = runtime.tryRoll(6, 0, 7).join();
+        assertEquals(LaneRuntime.ROLL_DUPLICATE, retry.status());
+        assertEquals(roll.snapshot(), retry.snapshot());
+        assertEquals(LaneRuntime.ROLL_OUT_OF_ORDER, runtime.tryRoll(6, 2, 2).join().status());
+        assertEquals(BowlingGame.ROLL_FRAME_OVERFLOW, runtime.tryRoll(6, 1, 4).join().status());
+
+        LaneRoll spare = runtime.tryRoll(6, 1, 3).join();
+        assertEquals(BowlingGame.ROLL_OK, spare.status());
+        assertEquals(2, spare.nextSequence());
+        assertEquals(spare.snapshot(), runtime.snapshot(6).join());
+        assertEquals(10, runtime.read(6, BowlingGame::score).join());
+    }
+
+    @DisplayName("when rolls return their snapshot, then it is the game right after them")
+    @Test
+    void whenRollsReturnTheirSnapshot_thenItIsTheGameRightAfterThem() {
+        LaneRoll strike = runtime.tryRollAndSnapshot(9, 10).join();
+        assertEquals(BowlingGame.ROLL_OK, strike.status());
+        LaneRoll rolls = runtime.tryRollsAndSnapshot(9, new int[]{7, 3}).join();
+        runtime.roll(9, 5).join();
+        LaneRoll overflow = runtime.tryRollAndSnapshot(9, 6).join();
+
+        PackedBowlingGame game = new PackedBowlingGame();
+        game.restore(strike.snapshot());
+        assertEquals(10, game.score());
+        game.restore(rolls.snapshot());
+        assertEquals(30, game.score());
+        assertEquals(BowlingGame.ROLL_FRAME_OVERFLOW, overflow.status());
+        assertEquals(runtime.snapshot(9).join(), overflow.snapshot());
+        assertEquals(BowlingGame.ROLL_GAME_OVER,
+                runtime.tryRollsAndSnapshot(9, new int[]{4, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10}).join().status());
+        assertEquals(runtime.snapshot(9).join(), overflow.snapshot());
+    }
+
+    @DisplayName("when a game is observed, then the observer gets a snapshot after every change")
+    @Test
+    void whenAGameIsObserved_thenTheObserverGetsASnapshotAfterEveryChange() {
+        List<BowlingGameSnapshot> snapshots = new ArrayList<>();
+        Consumer<BowlingGameSnapshot> observer = snapshots::add;
+        runtime.open(42).join();
+        assertTrue(runtime.observe(42, observer).join());
+        runtime.roll(42, 10).join();
+        runtime.tryRoll(42, 11).join();
+        runtime.roll(42, 3).join();
+        runtime.undoLastRoll(42).join();
+        runtime.unobserve(42, observer).join();
+        runtime.roll(42, 4).join();
+
+        assertEquals(4, snapshots.size());
+        assertEquals(BowlingGameSnapshot.EMPTY, snapshots.get(0));
+        assertEquals(snapshots.get(1), snapshots.get(3));
+        PackedBowlingGame game = new PackedBowlingGame();
+        game.restore(snapshots.get(2));
+        assertEquals(16, game.score());
+        assertEquals(18, runtime.read(42, BowlingGame::score).join());
+    }
+
+    @DisplayName("when an observer throws, then it is removed and the change succeeds")
+    @Test
+    void whenAnObserverThrows_thenItIsRemovedAndTheChangeSucceeds() {
+        List<BowlingGameSnapshot> snapshots = new ArrayList<>();
+        runtime.open(5).join();
+        runtime.observe(5, snapshot -> {
+            if (!snapshot.equals(BowlingGameSnapshot.EMPTY)) {
+                throw new IllegalStateException();
+            }
+        }).join();
+        runtime.observe(5, snapshots::add).join();
+        runtime.roll(5, 1).join();
+        runtime.roll(5, 2).join();
+        assertEquals(3, snapshots.size());
+    }
+
+    @DisplayName("when a game is read or observed which does not exist, then none is created")
+    @Test
+    void whenAGameIsReadOrObservedWhichDoesNotExist_thenNoneIsCreated() {
+        assertNull(runtime.snapshot(8).join());
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> runtime.read(8, BowlingGame::score).join());
+        assertTrue(e.getCause() instanceof NoSuchElementException);
+        assertFalse(runtime.observe(8, snapshot -> fail("There is no game to observe.")).join());
+        assertFalse(runtime.contains(8).join());
+
+        runtime.open(8).join();
+        assertTrue(runtime.contains(8).join());
+        assertEquals(BowlingGameSnapshot.EMPTY, runtime.snapshot(8).join());
+    }
+
+    @DisplayName("when a game is removed, then the next change starts a new game")
+    @Test
+    void whenAGameIsRemoved_thenTheNextChangeStartsANewGame() {
+        runtime.roll(-3, 9).join();
+        BowlingGameSnapshot snapshot = runtime.snapshot(-3).join();
+        List<BowlingGameSnapshot> snapshots = new ArrayList<>();
+        runtime.observe(-3, snapshots::add).join();
+        assertTrue(runtime.remove(-3).join());
+        assertEquals(Arrays.asList(snapshot, null), snapshots);
+        assertFalse(runtime.remove(-3).join());
+        assertNull(runtime.snapshot(-3).join());
+        runtime.restore(-3, snapshot).join();
+        assertEquals(9, runtime.read(-3, BowlingGame::score).join());
+        runtime.reset(-3).join();
+        assertEquals(0, runtime.read(-3, BowlingGame::score).join());
+        assertEquals(2, snapshots.size());
+    }
+}
@@ -0,0 +1,55 @@
+package net.mirwaldt.bowling.scorecard.webapp;
+
+import net.mirwaldt.bowling.scorecard.LazyScoringBowlingGame;
+import net.mirwaldt.bowling.scorecard.journal.RecoveredGames;
+import net.mirwaldt.bowling.scorecard.journal.RollJournal;
+import net.mirwaldt.bowling.scorecard.journal.RollJournalRecovery;
+import net.mirwaldt.bowling.scorecard.lane.LaneCheckpointer;
+import net.mirwaldt.bowling.scorecard.lane.LaneRuntime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides the runtime which holds the games of all lanes.
+ * If a journal directory is configured, the games are recovered from it at startup and every change is journaled.
+ * The games are checkpointed periodically so that the journal is compacted and the recovery stays short.
+ */
+@Configuration
+public class LaneRuntimeConfiguration {
+    private static final Logger logger = LoggerFactory.getLogger(LaneRuntimeConfiguration.class);
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty("lanes.journal.directory")
+    public RollJournal rollJournal(@Value("${lanes.journal.directory}") String directory) throws IOException {
+        return RollJournal.open(Paths.get(directory));
+    }
+
+    @Bean(destroyMethod = "close")
+    public LaneRuntime laneRuntime(@Value("${lanes.shards:4}") int shards, ObjectProvider<RollJournal> journalProvider)
+            throws IOException {
+        RollJournal journal = journalProvider.getIfAvailable();
+        LaneRuntime runtime = new LaneRuntime(shards, LazyScoringBowlingGame::new, journal);
+        if (journal != null) {
+            RecoveredGames recovered = RollJournalRecovery.recover(journal.directory(), LazyScoringBowlingGame::new);
+            runtime.recover(recovered).join();
+            logger.info("Recovered lanes from {}: {}", journal.directory(), recovered);
+        }
+        return runtime;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty("lanes.journal.directory")
+    public LaneCheckpointer laneCheckpointer(LaneRuntime laneRuntime, RollJournal rollJournal,
+                                             @Value("${lanes.journal.checkpoint-interval-seconds:300}") long seconds) {
+        return new LaneCheckpointer(laneRuntime, rollJournal, seconds, TimeUnit.SECONDS);
+    }
+}
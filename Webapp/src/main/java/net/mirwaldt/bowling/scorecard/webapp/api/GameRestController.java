@@ -0,0 +1,105 @@
+package net.mirwaldt.bowling.scorecard.webapp.api;
+
+import net.mirwaldt.bowling.scorecard.BowlingGame;
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+import net.mirwaldt.bowling.scorecard.lane.LaneRoll;
+import net.mirwaldt.bowling.scorecard.lane.LaneRuntime;
+import net.mirwaldt.bowling.scorecard.webapp.json.ScorecardJsonWriter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Exposes the games of the lanes by their ids for integrations like league software:
+ * <p>
+ * GET /api/games/7 returns the scorecard of game 7,
+ * POST /api/games/7/rolls?pins=4 rolls 4 pins and
+ * POST /api/games/7/rolls with a body like [10,7,3] rolls all pins of the body or none of them.
+ * <p>
+ * Every scorecard is returned with an ETag of the packed rolls, so a poll with If-None-Match
+ * of an unchanged game is answered by 304 without scoring or writing the scorecard.
+ * The scorecard of a roll is the one of the game right after it, even if another client rolls in the same game.
+ * A rejected roll is answered by 422 and a game which does not exist by 404.
+ */
+@RestController
+@RequestMapping("/api/games")
+public class GameRestController {
+    private static final ThreadLocal<ScorecardJson> scorecardJson = ThreadLocal.withInitial(ScorecardJson::new);
+
+    private final LaneRuntime laneRuntime;
+
+    public GameRestController(LaneRuntime laneRuntime) {
+        this.laneRuntime = laneRuntime;
+    }
+
+    @GetMapping(path = "/{gameId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> game(@PathVariable long gameId, WebRequest request) {
+        BowlingGameSnapshot snapshot = laneRuntime.snapshot(gameId).join();
+        if (snapshot == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "There is no game with the id " + gameId + ".");
+        }
+        if (request.checkNotModified(eTag(snapshot))) {
+            return null;
+        }
+        return scorecard(gameId, snapshot);
+    }
+
+    @PostMapping(path = "/{gameId}/rolls", params = "pins", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> roll(@PathVariable long gameId, @RequestParam int pins) {
+        return rolled(gameId, laneRuntime.tryRollAndSnapshot(gameId, pins).join());
+    }
+
+    @PostMapping(path = "/{gameId}/rolls", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> rolls(@PathVariable long gameId, @RequestBody int[] pins) {
+        return rolled(gameId, laneRuntime.tryRollsAndSnapshot(gameId, pins).join());
+    }
+
+    /**
+     * Returns the packed rolls as ETag which changes with every roll and which survives a restart.
+     */
+    static String eTag(BowlingGameSnapshot snapshot) {
+        return "\"" + Long.toHexString(snapshot.low()) + "-" + Long.toHexString(snapshot.high()) + "\"";
+    }
+
+    private static ResponseEntity<String> scorecard(long gameId, BowlingGameSnapshot snapshot) {
+        ScorecardJson json = scorecardJson.get();
+        json.out.setLength(0);
+        json.writer.write(json.out, gameId, snapshot);
+        return ResponseEntity.ok().eTag(eTag(snapshot)).body(json.out.toString());
+    }
+
+    private static ResponseEntity<String> rolled(long gameId, LaneRoll laneRoll) {
+        checkStatus(laneRoll.status());
+        return scorecard(gameId, laneRoll.snapshot());
+    }
+
+    private static void checkStatus(int status) {
+        if (status == BowlingGame.ROLL_OUT_OF_RANGE) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "The number of pins must be at least 0 and at most 10.");
+        } else if (status == BowlingGame.ROLL_FRAME_OVERFLOW) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "The sum of pins within a frame must be at most 10.");
+        } else if (status == BowlingGame.ROLL_GAME_OVER) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Game is over!");
+        }
+    }
+
+    /**
+     * The writer and the text of the scorecards written by one thread.
+     */
+    private static final class ScorecardJson {
+        private final ScorecardJsonWriter writer = new ScorecardJsonWriter();
+        private final StringBuilder out = new StringBuilder();
+    }
+}
@@ -0,0 +1,327 @@
+package net.mirwaldt.bowling.scorecard.webapp.feed;
+
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+import net.mirwaldt.bowling.scorecard.lane.LaneRuntime;
+import net.mirwaldt.bowling.scorecard.webapp.json.ScorecardJsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Streams the scorecards of the games in a {@link LaneRuntime} to many subscribers by server-sent events.
+ * <p>
+ * The thread of a roll only stores the latest snapshot of the game and queues the game if it is not queued yet.
+ * Once per window a flusher writes every changed game as JSON once and hands it to the subscribers of the game.
+ * A subscriber gets at most one message per window with the latest scorecards of its changed games.
+ * While a message is sent to a slow subscriber, newer scorecards replace the pending ones of the same games,
+ * so intermediate states are dropped instead of building a backlog.
+ * <p>
+ * When a game is removed from the runtime, the subscriptions to it are completed and the game is not fed anymore,
+ * so a new game with the same id is observed again by the next subscription.
+ */
+public class ScorecardFeed implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ScorecardFeed.class);
+
+    private final LaneRuntime laneRuntime;
+    private final long windowMillis;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService flusher;
+    private final ExecutorService senders;
+    private final Map<Long, GameFeed> games = new ConcurrentHashMap<>();
+    private final Queue<GameFeed> changedGames = new ConcurrentLinkedQueue<>();
+    private final Queue<Welcome> welcomes = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Only accessed by the thread of the flusher.
+     */
+    private final ScorecardJsonWriter jsonWriter = new ScorecardJsonWriter();
+    private final StringBuilder json = new StringBuilder();
+
+    /**
+     * @param windowMillis  the milliseconds over which the changes of games are coalesced
+     * @param senderThreads the number of threads which send the messages to the subscribers
+     * @param timeoutMillis the milliseconds after which a subscription ends, 0 for never
+     */
+    public ScorecardFeed(LaneRuntime laneRuntime, long windowMillis, int senderThreads, long timeoutMillis) {
+        this.laneRuntime = laneRuntime;
+        this.windowMillis = windowMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scorecard-feed-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger senderIndex = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "scorecard-feed-sender-" + senderIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns whether there are games with all ids, so that a subscription to them can be rejected otherwise.
+     */
+    public boolean hasGames(long... gameIds) {
+        for (long gameId : gameIds) {
+            if (!laneRuntime.contains(gameId).join()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Subscribes to the scorecards of some games, e.g. of the lanes on one display.
+     * The first message contains the current scorecards of all games.
+     * The scorecard of a game which is fed already is only sent to the new subscriber and not to the others.
+     */
+    public SseEmitter subscribe(long... gameIds) {
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(emitter, gameIds);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        for (long gameId : gameIds) {
+            games.compute(gameId, (id, game) -> {
+                if (game == null || game.isRemoved) {
+                    GameFeed newGame = new GameFeed(id);
+                    laneRuntime.observe(id, newGame.observer).thenAccept(isObserved -> {
+                        if (!isObserved) {
+                            newGame.changed(null);
+                        }
+                    });
+                    game = newGame;
+                } else {
+                    welcomes.add(new Welcome(game, subscriber));
+                }
+                game.subscribers.add(subscriber);
+                return game;
+            });
+        }
+        return emitter;
+    }
+
+    /**
+     * Creates the emitter of a new subscription.
+     */
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    public int subscribedGames() {
+        return games.size();
+    }
+
+    /**
+     * Stops streaming and ends all subscriptions.
+     */
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+        senders.shutdownNow();
+        for (GameFeed game : games.values()) {
+            laneRuntime.unobserve(game.gameId, game.observer);
+            for (Subscriber subscriber : game.subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        games.clear();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.isClosed.compareAndSet(false, true)) {
+            return;
+        }
+        for (long gameId : subscriber.gameIds) {
+            games.computeIfPresent(gameId, (id, game) -> {
+                game.subscribers.remove(subscriber);
+                if (game.subscribers.isEmpty()) {
+                    laneRuntime.unobserve(id, game.observer);
+                    return null;
+                }
+                return game;
+            });
+        }
+    }
+
+    /**
+     * Completes the subscriptions to a removed game, so its subscribers learn that it is gone.
+     */
+    private void remove(GameFeed game) {
+        games.remove(game.gameId, game);
+        for (Subscriber subscriber : game.subscribers) {
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void flush() {
+        try {
+            Set<Subscriber> subscribers = Collections.newSetFromMap(new IdentityHashMap<>());
+            Welcome welcome;
+            while ((welcome = welcomes.poll()) != null) {
+                json.setLength(0);
+                jsonWriter.write(json, welcome.game.gameId, welcome.game.snapshot);
+                welcome.subscriber.offer(welcome.game.gameId, json.toString());
+                subscribers.add(welcome.subscriber);
+            }
+            GameFeed game;
+            while ((game = changedGames.poll()) != null) {
+                game.isQueued.set(false);
+                if (game.isRemoved) {
+                    remove(game);
+                    continue;
+                }
+                json.setLength(0);
+                jsonWriter.write(json, game.gameId, game.snapshot);
+                String scorecard = json.toString();
+                for (Subscriber subscriber : game.subscribers) {
+                    subscriber.offer(game.gameId, scorecard);
+                    subscribers.add(subscriber);
+                }
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.sendLater();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Flushing the scorecard feed has failed.", e);
+        }
+    }
+
+    private final class GameFeed {
+        private final long gameId;
+        private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+        private final AtomicBoolean isQueued = new AtomicBoolean();
+        private final Consumer<BowlingGameSnapshot> observer = this::changed;
+        private volatile BowlingGameSnapshot snapshot = BowlingGameSnapshot.EMPTY;
+        private volatile boolean isRemoved;
+
+        private GameFeed(long gameId) {
+            this.gameId = gameId;
+        }
+
+        /**
+         * Is called on the thread of the roll, so it must return at once.
+         *
+         * @param snapshot the latest snapshot or null if the game has been removed
+         */
+        private void changed(BowlingGameSnapshot snapshot) {
+            if (snapshot == null) {
+                isRemoved = true;
+            } else {
+                this.snapshot = snapshot;
+            }
+            changed();
+        }
+
+        private void changed() {
+            if (isQueued.compareAndSet(false, true)) {
+                changedGames.add(this);
+            }
+        }
+    }
+
+    /**
+     * A subscriber which gets the current scorecard of a game which is fed already.
+     */
+    private static final class Welcome {
+        private final GameFeed game;
+        private final Subscriber subscriber;
+
+        private Welcome(GameFeed game, Subscriber subscriber) {
+            this.game = game;
+            this.subscriber = subscriber;
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final long[] gameIds;
+        private final AtomicBoolean isClosed = new AtomicBoolean();
+
+        /**
+         * The latest scorecards by game which have not been sent yet, guarded by this.
+         */
+        private final Map<Long, String> pending = new LinkedHashMap<>();
+        private boolean isSending;
+
+        private Subscriber(SseEmitter emitter, long[] gameIds) {
+            this.emitter = emitter;
+            this.gameIds = gameIds;
+        }
+
+        private synchronized void offer(long gameId, String scorecard) {
+            pending.put(gameId, scorecard);
+        }
+
+        private void sendLater() {
+            synchronized (this) {
+                if (isSending || pending.isEmpty() || isClosed.get()) {
+                    return;
+                }
+                isSending = true;
+            }
+            try {
+                senders.execute(this::send);
+            } catch (RejectedExecutionException e) {
+                // The feed is closed.
+            }
+        }
+
+        private void send() {
+            StringBuilder message = new StringBuilder("[");
+            synchronized (this) {
+                for (String scorecard : pending.values()) {
+                    if (1 < message.length()) {
+                        message.append(',');
+                    }
+                    message.append(scorecard);
+                }
+                pending.clear();
+            }
+            message.append(']');
+
+            try {
+                emitter.send(SseEmitter.event().name("scorecards").data(message.toString(), MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(this);
+                emitter.completeWithError(e);
+            } finally {
+                boolean hasPending;
+                synchronized (this) {
+                    isSending = false;
+                    hasPending = !pending.isEmpty();
+                }
+                if (hasPending) {
+                    try {
+                        flusher.schedule(this::sendLater, windowMillis, TimeUnit.MILLISECONDS);
+                    } catch (RejectedExecutionException e) {
+                        // The feed is closed.
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package net.mirwaldt.bowling.scorecard.webapp.feed;
+
+import net.mirwaldt.bowling.scorecard.lane.LaneRuntime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the feed which streams the scorecards of the lanes.
+ */
+@Configuration
+public class ScorecardFeedConfiguration {
+    @Bean(destroyMethod = "close")
+    public ScorecardFeed scorecardFeed(LaneRuntime laneRuntime,
+                                       @Value("${feed.window-millis:100}") long windowMillis,
+                                       @Value("${feed.sender-threads:4}") int senderThreads,
+                                       @Value("${feed.timeout-millis:0}") long timeoutMillis) {
+        return new ScorecardFeed(laneRuntime, windowMillis, senderThreads, timeoutMillis);
+    }
+}
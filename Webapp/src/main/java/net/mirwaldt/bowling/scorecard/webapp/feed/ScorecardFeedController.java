@@ -0,0 +1,53 @@
+package net.mirwaldt.bowling.scorecard.webapp.feed;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams live scorecards to venue displays and spectator pages by server-sent events, either of one game
+ * by /feed/games/7 or of a group of lanes by /feed/games?ids=1,2,3.
+ * Every event "scorecards" contains a JSON array with the latest scorecards of the games changed since the last one.
+ * A subscription to a game which does not exist is answered by 404.
+ */
+@RestController
+@RequestMapping("/feed")
+public class ScorecardFeedController {
+    private final ScorecardFeed scorecardFeed;
+    private final int maxGamesPerSubscription;
+
+    public ScorecardFeedController(ScorecardFeed scorecardFeed,
+                                   @Value("${feed.max-games-per-subscription:64}") int maxGamesPerSubscription) {
+        this.scorecardFeed = scorecardFeed;
+        this.maxGamesPerSubscription = maxGamesPerSubscription;
+    }
+
+    @GetMapping(path = "/games/{gameId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter game(@PathVariable long gameId) {
+        checkGames(gameId);
+        return scorecardFeed.subscribe(gameId);
+    }
+
+    @GetMapping(path = "/games", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter games(@RequestParam("ids") long[] gameIds) {
+        if (gameIds.length == 0 || maxGamesPerSubscription < gameIds.length) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "The number of games must be at least 1 and at most " + maxGamesPerSubscription);
+        }
+        checkGames(gameIds);
+        return scorecardFeed.subscribe(gameIds);
+    }
+
+    private void checkGames(long... gameIds) {
+        if (!scorecardFeed.hasGames(gameIds)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "There are no games with all the ids.");
+        }
+    }
+}
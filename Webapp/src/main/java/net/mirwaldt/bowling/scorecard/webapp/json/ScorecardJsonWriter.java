@@ -0,0 +1,43 @@
+package net.mirwaldt.bowling.scorecard.webapp.json;
+
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+import net.mirwaldt.bowling.scorecard.PackedBowlingGame;
+
+/**
+ * Writes the scorecard of a game as JSON by hand, e.g.
+ * <p>
+ * {"gameId":7,"frame":3,"rollInFrame":1,"over":false,"rolls":[10,7,3,4],"scores":[20,34,38]}
+ * <p>
+ * The arrays and the game are reused, so a writer must only be used by one thread at a time.
+ */
+public class ScorecardJsonWriter {
+    private final PackedBowlingGame game = new PackedBowlingGame();
+    private final int[] rolls = new int[21];
+    private final int[] scores = new int[10];
+
+    public void write(StringBuilder out, long gameId, BowlingGameSnapshot snapshot) {
+        game.restore(snapshot);
+        int rollCount = snapshot.rolls(rolls);
+        int frames = game.scores(scores);
+        out.append("{\"gameId\":").append(gameId)
+                .append(",\"frame\":").append(game.currentFrame())
+                .append(",\"rollInFrame\":").append(game.currentRollInFrame())
+                .append(",\"over\":").append(game.isOver())
+                .append(",\"rolls\":");
+        writeArray(out, rolls, rollCount);
+        out.append(",\"scores\":");
+        writeArray(out, scores, frames);
+        out.append('}');
+    }
+
+    private static void writeArray(StringBuilder out, int[] values, int length) {
+        out.append('[');
+        for (int i = 0; i < length; i++) {
+            if (0 < i) {
+                out.append(',');
+            }
+            out.append(values[i]);
+        }
+        out.append(']');
+    }
+}
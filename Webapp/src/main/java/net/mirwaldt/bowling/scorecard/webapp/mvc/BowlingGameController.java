@@ -1,6 +1,13 @@
 package net.mirwaldt.bowling.scorecard.webapp.mvc;
 
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+
 public interface BowlingGameController {
     void rolled(int pins);
     void reset();
+
+    /**
+     * Shows a game which has been changed elsewhere, e.g. by another UI of the same lane.
+     */
+    void changed(BowlingGameSnapshot snapshot);
 }
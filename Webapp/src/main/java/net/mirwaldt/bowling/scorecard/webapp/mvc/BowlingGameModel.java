@@ -1,12 +1,24 @@
 package net.mirwaldt.bowling.scorecard.webapp.mvc;
 
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+
 public interface BowlingGameModel {
-    void roll(int pins);
+    /**
+     * @return the snapshot of the game right after the roll, even if the game is shared and changed by others
+     */
+    BowlingGameSnapshot roll(int pins);
     int currentFrame();
     int currentRollInFrame();
     boolean isLastFrameSpare();
     boolean isLastRollStrike();
     int score(int frame);
+    int scores(int[] scores);
+
+    /**
+     * @see net.mirwaldt.bowling.scorecard.BowlingGame#changedFrames()
+     */
+    int changedFrames();
     boolean isOver();
     void reset();
+    BowlingGameSnapshot snapshot();
 }
@@ -1,35 +1,45 @@
 package net.mirwaldt.bowling.scorecard.webapp.mvc;
 
+import net.mirwaldt.bowling.scorecard.BowlingGame;
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+import net.mirwaldt.bowling.scorecard.PackedBowlingGame;
+
 public class FormBowlingGameController implements BowlingGameController {
     public static final int NO_BONUS_PINS = -1;
     private final BowlingGameModel bowlingGameModel;
     private final BowlingGameView bowlingGameView;
+    private final int[] scores = new int[10];
+    private final int[] rolls = new int[21];
+    private final PackedBowlingGame replay = new PackedBowlingGame();
+    private BowlingGameSnapshot displayed = BowlingGameSnapshot.EMPTY;
 
     public FormBowlingGameController(BowlingGameModel bowlingGameModel, BowlingGameView bowlingGameView) {
         this.bowlingGameModel = bowlingGameModel;
         this.bowlingGameView = bowlingGameView;
     }
 
+    /**
+     * Draws only the roll and the scores it has changed if the game is the displayed one with this roll.
+     * Otherwise others have changed the game in between and the whole game of the roll is redrawn.
+     */
     @Override
     public void rolled(int pins) {
-        bowlingGameModel.roll(pins);
-
-        if (bowlingGameModel.isLastRollStrike()) {
-            bowlingGameView.setStrikeRoll(bowlingGameModel.currentFrame(), bowlingGameModel.currentRollInFrame());
-        } else if (bowlingGameModel.isLastFrameSpare()) {
-            bowlingGameView.setSpareRoll(bowlingGameModel.currentFrame());
-        } else {
-            bowlingGameView.setRoll(bowlingGameModel.currentFrame(), bowlingGameModel.currentRollInFrame(), pins);
+        BowlingGameSnapshot snapshot = bowlingGameModel.roll(pins);
+        if (replay.tryRoll(pins) != BowlingGame.ROLL_OK || !replay.snapshot().equals(snapshot)) {
+            replay.restore(displayed);
+            changed(snapshot);
+            return;
         }
 
-        displayScores();
+        displayRoll(replay.currentFrame(), replay.currentRollInFrame(),
+                replay.isPreviousRollStrike(), replay.isPreviousFrameSpare(), pins);
 
-        if (bowlingGameModel.isOver()) {
-            if(isSecondRoll()) {
-                bowlingGameView.setRoll(10, 3, NO_BONUS_PINS);
-            }
-            bowlingGameView.disableInput();
+        displayChangedScores();
+
+        if (replay.isOver()) {
+            displayOver(replay.currentRollInFrame());
         }
+        displayed = snapshot;
     }
 
     @Override
@@ -37,15 +47,66 @@ public class FormBowlingGameController implements BowlingGameController {
         bowlingGameModel.reset();
         bowlingGameView.reset();
         bowlingGameView.enableInput();
+        replay.reset();
+        displayed = BowlingGameSnapshot.EMPTY;
+    }
+
+    /**
+     * Redraws the whole game unless it is the game displayed already, e.g. after an own roll.
+     * The replay is then the displayed game again.
+     */
+    @Override
+    public void changed(BowlingGameSnapshot snapshot) {
+        if (snapshot.equals(displayed)) {
+            return;
+        }
+        bowlingGameView.reset();
+        replay.reset();
+        int rollCount = snapshot.rolls(rolls);
+        for (int r = 0; r < rollCount; r++) {
+            replay.roll(rolls[r]);
+            displayRoll(replay.currentFrame(), replay.currentRollInFrame(),
+                    replay.isPreviousRollStrike(), replay.isPreviousFrameSpare(), rolls[r]);
+        }
+        int frames = replay.scores(scores);
+        for (int f = 1; f <= frames; f++) {
+            bowlingGameView.setScore(f, scores[f - 1]);
+        }
+        if (replay.isOver()) {
+            displayOver(replay.currentRollInFrame());
+        } else {
+            bowlingGameView.enableInput();
+        }
+        displayed = snapshot;
+    }
+
+    private void displayRoll(int frame, int rollInFrame, boolean isStrike, boolean isSpare, int pins) {
+        if (isStrike) {
+            bowlingGameView.setStrikeRoll(frame, rollInFrame);
+        } else if (isSpare) {
+            bowlingGameView.setSpareRoll(frame);
+        } else {
+            bowlingGameView.setRoll(frame, rollInFrame, pins);
+        }
     }
 
-    private void displayScores() {
-        for (int f = 1; f <= bowlingGameModel.currentFrame(); f++) {
-            bowlingGameView.setScore(f, bowlingGameModel.score(f));
+    private void displayOver(int rollInFrame) {
+        if (rollInFrame == 2) {
+            bowlingGameView.setRoll(10, 3, NO_BONUS_PINS);
         }
+        bowlingGameView.disableInput();
     }
 
-    private boolean isSecondRoll() {
-        return bowlingGameModel.currentRollInFrame() == 2;
+    /**
+     * Sends only the scores which the roll has changed to the view, i.e. at most three frames instead of all.
+     */
+    private void displayChangedScores() {
+        int changedFrames = replay.changedFrames();
+        int frames = replay.scores(scores);
+        for (int f = 1; f <= frames; f++) {
+            if (BowlingGame.isChangedFrame(changedFrames, f)) {
+                bowlingGameView.setScore(f, scores[f - 1]);
+            }
+        }
     }
 }
@@ -0,0 +1,150 @@
+package net.mirwaldt.bowling.scorecard.webapp.mvc;
+
+import net.mirwaldt.bowling.scorecard.BowlingGame;
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+import net.mirwaldt.bowling.scorecard.ConcurrentBowlingGame;
+import net.mirwaldt.bowling.scorecard.PackedBowlingGame;
+import net.mirwaldt.bowling.scorecard.lane.LaneRoll;
+import net.mirwaldt.bowling.scorecard.lane.LaneRuntime;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * A model of a game held by a {@link LaneRuntime} which many models and therefore many UIs can share.
+ * Changes are made by the runtime and the model observes the game by a mirror which is read without waiting.
+ * A listener is told about every change of the game including those of the other UIs and terminals,
+ * e.g. to redraw the view by {@link BowlingGameController#changed(BowlingGameSnapshot)}.
+ * If the game is removed from the runtime, the model opens a new game with the same id and observes that one.
+ */
+public class LaneBowlingGameModel implements BowlingGameModel, AutoCloseable {
+    private final LaneRuntime laneRuntime;
+    private final long gameId;
+    private final BowlingGame mirror = new ConcurrentBowlingGame(new PackedBowlingGame());
+    private final Consumer<BowlingGameSnapshot> observer;
+    private final int[] rolls = new int[21];
+    private volatile boolean isClosed;
+
+    public LaneBowlingGameModel(LaneRuntime laneRuntime, long gameId) {
+        this(laneRuntime, gameId, snapshot -> {
+        });
+    }
+
+    /**
+     * @param listener gets the snapshot after every change of the game on the thread of its shard,
+     *                 so it must return quickly, e.g. by handing the snapshot to the UI
+     */
+    public LaneBowlingGameModel(LaneRuntime laneRuntime, long gameId, Consumer<BowlingGameSnapshot> listener) {
+        this.laneRuntime = laneRuntime;
+        this.gameId = gameId;
+        this.observer = snapshot -> {
+            if (snapshot == null) {
+                openAndObserve();
+                return;
+            }
+            mirror.restore(snapshot);
+            listener.accept(snapshot);
+        };
+        join(openAndObserve());
+    }
+
+    /**
+     * Returns the snapshot taken by the roll itself and not the mirror, which may already have a roll of another UI.
+     */
+    @Override
+    public BowlingGameSnapshot roll(int pins) {
+        LaneRoll laneRoll = join(laneRuntime.tryRollAndSnapshot(gameId, pins));
+        if (laneRoll.status() != BowlingGame.ROLL_OK) {
+            int rollCount = laneRoll.snapshot().rolls(rolls);
+            throw BowlingGame.invalidRoll(laneRoll.status(), pins, (0 < rollCount) ? rolls[rollCount - 1] : 0);
+        }
+        return laneRoll.snapshot();
+    }
+
+    @Override
+    public int currentFrame() {
+        return mirror.currentFrame();
+    }
+
+    @Override
+    public int currentRollInFrame() {
+        return mirror.currentRollInFrame();
+    }
+
+    @Override
+    public boolean isLastFrameSpare() {
+        return mirror.isPreviousFrameSpare();
+    }
+
+    @Override
+    public boolean isLastRollStrike() {
+        return mirror.isPreviousRollStrike();
+    }
+
+    @Override
+    public int score(int frame) {
+        return mirror.score(frame);
+    }
+
+    @Override
+    public int scores(int[] scores) {
+        return mirror.scores(scores);
+    }
+
+    @Override
+    public int changedFrames() {
+        return mirror.changedFrames();
+    }
+
+    @Override
+    public boolean isOver() {
+        return mirror.isOver();
+    }
+
+    @Override
+    public void reset() {
+        join(laneRuntime.reset(gameId));
+    }
+
+    @Override
+    public BowlingGameSnapshot snapshot() {
+        return mirror.snapshot();
+    }
+
+    /**
+     * Stops observing the game, the game itself stays in the runtime.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        join(laneRuntime.unobserve(gameId, observer));
+    }
+
+    /**
+     * Observes the game again if it has been removed, unless the model has been closed in between.
+     */
+    private CompletableFuture<Boolean> openAndObserve() {
+        return laneRuntime.open(gameId)
+                .thenCompose(ignored -> laneRuntime.observe(gameId, observer))
+                .whenComplete((isObserved, e) -> {
+                    if (isClosed) {
+                        laneRuntime.unobserve(gameId, observer);
+                    }
+                });
+    }
+
+    /**
+     * Throws the exception of the game like {@link LazyScoringBowlingGameModel} does.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
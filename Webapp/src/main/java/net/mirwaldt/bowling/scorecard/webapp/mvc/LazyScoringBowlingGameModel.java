@@ -1,14 +1,16 @@
 package net.mirwaldt.bowling.scorecard.webapp.mvc;
 
 import net.mirwaldt.bowling.scorecard.BowlingGame;
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
 import net.mirwaldt.bowling.scorecard.LazyScoringBowlingGame;
 
 public class LazyScoringBowlingGameModel implements BowlingGameModel {
-    private BowlingGame bowlingGameModel = new LazyScoringBowlingGame();
+    private final BowlingGame bowlingGameModel = new LazyScoringBowlingGame();
 
     @Override
-    public void roll(int pins) {
+    public BowlingGameSnapshot roll(int pins) {
         bowlingGameModel.roll(pins);
+        return bowlingGameModel.snapshot();
     }
 
     @Override
@@ -36,6 +38,16 @@ public class LazyScoringBowlingGameModel implements BowlingGameModel {
         return bowlingGameModel.score(frame);
     }
 
+    @Override
+    public int scores(int[] scores) {
+        return bowlingGameModel.scores(scores);
+    }
+
+    @Override
+    public int changedFrames() {
+        return bowlingGameModel.changedFrames();
+    }
+
     @Override
     public boolean isOver() {
         return bowlingGameModel.isOver();
@@ -43,6 +55,11 @@ public class LazyScoringBowlingGameModel implements BowlingGameModel {
 
     @Override
     public void reset() {
-        bowlingGameModel = new LazyScoringBowlingGame();
+        bowlingGameModel.reset();
+    }
+
+    @Override
+    public BowlingGameSnapshot snapshot() {
+        return bowlingGameModel.snapshot();
     }
 }
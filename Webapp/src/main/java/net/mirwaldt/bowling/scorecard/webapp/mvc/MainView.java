@@ -1,22 +1,41 @@
 package net.mirwaldt.bowling.scorecard.webapp.mvc;
 
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.Key;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Label;
 import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.page.Push;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.router.BeforeEvent;
+import com.vaadin.flow.router.HasUrlParameter;
+import com.vaadin.flow.router.OptionalParameter;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.server.PWA;
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+import net.mirwaldt.bowling.scorecard.lane.LaneRuntime;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static net.mirwaldt.bowling.scorecard.webapp.mvc.FormBowlingGameController.NO_BONUS_PINS;
 
+/**
+ * Shows the game of a lane held by the {@link LaneRuntime}, e.g. /7 for lane 7 and / for lane 1.
+ * So the game is journaled like the games of the terminals and survives a restart.
+ * All UIs of a lane show the same game and the rolls of the others are pushed to them.
+ */
 @Route
+@Push
 @PWA(name = "Bowling scorecard demo webapp", shortName = "Bowling scorecard")
-public class MainView extends VerticalLayout implements RouterLayout, BowlingGameView {
+public class MainView extends VerticalLayout implements RouterLayout, BowlingGameView, HasUrlParameter<Long> {
+    public static final long DEFAULT_GAME_ID = 1;
     public static final String STRIKE_CHAR = "X";
     public static final String SPARE_CHAR = "/";
     private final Label[] firstRollLabels = new Label[10];
@@ -25,10 +44,14 @@ public class MainView extends VerticalLayout implements RouterLayout, BowlingGam
     private Label bonusLabel;
     private final TextField rollTextField = new TextField();
     private final Button rollButton;
-    private final BowlingGameController bowlingGameController;
+    private final LaneRuntime laneRuntime;
+    private long gameId = DEFAULT_GAME_ID;
+    private LaneBowlingGameModel bowlingGameModel;
+    private BowlingGameController bowlingGameController;
+    private int observations;
 
-    public MainView() {
-        bowlingGameController = new FormBowlingGameController(new LazyScoringBowlingGameModel(), this);
+    public MainView(LaneRuntime laneRuntime) {
+        this.laneRuntime = laneRuntime;
 
         final H2 arrayComparatorH2 = new H2("Bowling scorecard");
         arrayComparatorH2.setWidth("300px");
@@ -79,6 +102,25 @@ public class MainView extends VerticalLayout implements RouterLayout, BowlingGam
         reset();
     }
 
+    @Override
+    public void setParameter(BeforeEvent event, @OptionalParameter Long parameter) {
+        long newGameId = (parameter == null) ? DEFAULT_GAME_ID : parameter;
+        if (newGameId != gameId) {
+            gameId = newGameId;
+            getUI().ifPresent(this::observeGame);
+        }
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        observeGame(attachEvent.getUI());
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        stopObservingGame();
+    }
+
     @Override
     public void setRoll(int frame, int rollInFrame, int pins) {
         String pinsAsString = String.valueOf(pins);
@@ -141,6 +183,33 @@ public class MainView extends VerticalLayout implements RouterLayout, BowlingGam
         rollTextField.focus();
     }
 
+    private void observeGame(UI ui) {
+        stopObservingGame();
+        reset();
+        int observation = ++observations;
+        // The model tells about changes on the thread of the shard which must not wait for the UI.
+        // Only the latest snapshot is kept and one task at a time draws it, so an older one never follows a newer one.
+        AtomicReference<BowlingGameSnapshot> latestSnapshot = new AtomicReference<>();
+        bowlingGameModel = new LaneBowlingGameModel(laneRuntime, gameId, snapshot -> {
+            if (latestSnapshot.getAndSet(snapshot) == null) {
+                CompletableFuture.runAsync(() -> ui.access(() -> {
+                    BowlingGameSnapshot latest = latestSnapshot.getAndSet(null);
+                    if (observation == observations && latest != null) {
+                        bowlingGameController.changed(latest);
+                    }
+                }));
+            }
+        });
+        bowlingGameController = new FormBowlingGameController(bowlingGameModel, this);
+    }
+
+    private void stopObservingGame() {
+        if (bowlingGameModel != null) {
+            bowlingGameModel.close();
+            bowlingGameModel = null;
+        }
+    }
+
     private void createLastFrameBox(HorizontalLayout horizontalLayout) {
         VerticalLayout frameLayout = new VerticalLayout();
         frameLayout.setSpacing(false);
@@ -0,0 +1,25 @@
+package net.mirwaldt.bowling.scorecard.webapp.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+
+/**
+ * Provides the auditor of authentication failures.
+ */
+@Configuration
+public class AuthFailureAuditConfiguration {
+    @Bean(destroyMethod = "close")
+    public AuthFailureAuditor authFailureAuditor(@Value("${security.audit.queue-capacity:10000}") int queueCapacity,
+                                                 @Value("${security.audit.batch-size:512}") int batchSize,
+                                                 @Value("${security.audit.window-seconds:60}") long windowSeconds,
+                                                 @Value("${security.audit.offender-threshold:20}") int offenderThreshold,
+                                                 @Value("${security.audit.max-ips-per-window:100000}") int maxIpsPerWindow,
+                                                 @Value("${security.audit.logged-offenders:10}") int loggedOffenders,
+                                                 @Value("${security.audit.trusted-proxies:}") String[] trustedProxies) {
+        return new AuthFailureAuditor(queueCapacity, batchSize, windowSeconds * 1000, offenderThreshold,
+                maxIpsPerWindow, loggedOffenders, Arrays.asList(trustedProxies));
+    }
+}
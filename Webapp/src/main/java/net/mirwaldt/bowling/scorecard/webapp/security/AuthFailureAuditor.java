@@ -0,0 +1,281 @@
+package net.mirwaldt.bowling.scorecard.webapp.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Audits authentication failures off the request threads.
+ * <p>
+ * A request thread only offers its failure to a bounded queue and a failure is dropped if the queue is full,
+ * so a burst of failures never slows down the requests. A drainer thread takes the failures in batches
+ * and counts them per remote IP address and window. At the end of a window it logs one summary
+ * with the top offenders instead of one line per failure.
+ * A window counts the failures of a maximum number of IP addresses, the failures of further ones are only summed up,
+ * so that failures from spoofed or rotating addresses cannot exhaust the memory.
+ * <p>
+ * The IP addresses with at least a threshold of failures in the current or in the previous window are
+ * offenders whose next attempts can be rejected before the password is checked.
+ * An IP address becomes an offender as soon as it reaches the threshold and the offenders of the window
+ * before the previous one are removed at the end of a window, so a batch only touches its own IP addresses.
+ * <p>
+ * The IP address of a request is the remote address of its connection. Only if that is a trusted proxy,
+ * it is the right-most address in X-Forwarded-For which is no trusted proxy, because the addresses left of it
+ * can be forged by the client.
+ */
+public class AuthFailureAuditor implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger("audit.log");
+    private static final Comparator<IpFailures> BY_COUNT = Comparator.comparingInt(IpFailures::count).reversed();
+
+    private final BlockingQueue<Failure> queue;
+    private final int batchSize;
+    private final long windowMillis;
+    private final int offenderThreshold;
+    private final int maxIpsPerWindow;
+    private final int loggedOffenders;
+    private final Set<String> trustedProxies;
+    private final Thread drainer;
+    private final AtomicLong droppedFailures = new AtomicLong();
+
+    /**
+     * Only accessed by the drainer thread.
+     */
+    private final Map<String, WindowFailures> window = new HashMap<>();
+    private final List<Failure> batch;
+    private Map<String, IpFailures> previousOffenders = Collections.emptyMap();
+    private long windowStartMillis;
+    private long uncountedFailures;
+    private long loggedDroppedFailures;
+
+    /**
+     * Only changed by the drainer thread.
+     */
+    private final ConcurrentMap<String, IpFailures> offenders = new ConcurrentHashMap<>();
+    private volatile boolean isClosed;
+
+    /**
+     * @param queueCapacity     the number of failures which wait for the drainer until further ones are dropped
+     * @param batchSize         the maximum number of failures taken from the queue at once
+     * @param windowMillis      the milliseconds over which the failures are counted per IP address
+     * @param offenderThreshold the number of failures in a window from which on an IP address is an offender
+     * @param maxIpsPerWindow   the number of IP addresses whose failures are counted per window
+     * @param loggedOffenders   the number of top offenders logged at the end of a window
+     * @param trustedProxies    the IP addresses of the proxies whose X-Forwarded-For headers are trusted
+     */
+    public AuthFailureAuditor(int queueCapacity, int batchSize, long windowMillis, int offenderThreshold,
+                              int maxIpsPerWindow, int loggedOffenders, Collection<String> trustedProxies) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1 but not " + batchSize);
+        }
+        if (windowMillis < 1) {
+            throw new IllegalArgumentException("The window must be at least 1 ms but not " + windowMillis);
+        }
+        if (maxIpsPerWindow < 1) {
+            throw new IllegalArgumentException(
+                    "The number of IP addresses per window must be at least 1 but not " + maxIpsPerWindow);
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+        this.windowMillis = windowMillis;
+        this.offenderThreshold = offenderThreshold;
+        this.maxIpsPerWindow = maxIpsPerWindow;
+        this.loggedOffenders = loggedOffenders;
+        this.trustedProxies = new HashSet<>(trustedProxies);
+        this.windowStartMillis = System.currentTimeMillis();
+        this.drainer = new Thread(this::drain, "auth-failure-auditor");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * Returns the IP address of the client of a request, the one forwarded by the trusted proxies if there are any.
+     */
+    public String remoteAddress(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (!trustedProxies.contains(remoteAddress)) {
+            return remoteAddress;
+        }
+        List<String> forwardedFor = Collections.list(request.getHeaders("X-Forwarded-For"));
+        String ipAddress = remoteAddress;
+        for (int h = forwardedFor.size() - 1; 0 <= h; h--) {
+            String[] hops = forwardedFor.get(h).split(",");
+            for (int i = hops.length - 1; 0 <= i; i--) {
+                String hop = hops[i].trim();
+                if (!hop.isEmpty()) {
+                    if (!trustedProxies.contains(hop)) {
+                        return hop;
+                    }
+                    ipAddress = hop;
+                }
+            }
+        }
+        return ipAddress;
+    }
+
+    /**
+     * Records a failure without waiting.
+     *
+     * @return false if the failure has been dropped because the queue is full
+     */
+    public boolean record(String ipAddress) {
+        if (queue.offer(new Failure(ipAddress, System.currentTimeMillis()))) {
+            return true;
+        }
+        droppedFailures.incrementAndGet();
+        return false;
+    }
+
+    public boolean isOffender(String ipAddress) {
+        return offenders.containsKey(ipAddress);
+    }
+
+    /**
+     * Returns the offenders with the most failures first.
+     */
+    public List<IpFailures> topOffenders(int limit) {
+        List<IpFailures> top = new ArrayList<>(offenders.values());
+        top.sort(BY_COUNT);
+        return (top.size() <= limit) ? top : top.subList(0, limit);
+    }
+
+    public long droppedFailures() {
+        return droppedFailures.get();
+    }
+
+    /**
+     * Stops the drainer after the failures in the queue.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        isClosed = true;
+        drainer.interrupt();
+        drainer.join();
+    }
+
+    private void drain() {
+        while (true) {
+            try {
+                long windowEndMillis = windowStartMillis + windowMillis;
+                Failure failure = queue.poll(Math.max(0, windowEndMillis - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (failure != null) {
+                    batch.add(failure);
+                    queue.drainTo(batch, batchSize - 1);
+                    aggregate();
+                }
+                if (windowEndMillis <= System.currentTimeMillis()) {
+                    endWindow();
+                }
+            } catch (InterruptedException e) {
+                if (isClosed) {
+                    queue.drainTo(batch);
+                    aggregate();
+                    endWindow();
+                    return;
+                }
+            } catch (RuntimeException e) {
+                batch.clear();
+                logger.error("Auditing authentication failures has failed.", e);
+            }
+        }
+    }
+
+    private void aggregate() {
+        for (Failure failure : batch) {
+            WindowFailures failures = window.get(failure.ipAddress);
+            if (failures == null) {
+                if (maxIpsPerWindow <= window.size()) {
+                    uncountedFailures++;
+                    continue;
+                }
+                failures = new WindowFailures(failure.millis);
+                window.put(failure.ipAddress, failures);
+            }
+            failures.count++;
+            failures.firstSeenMillis = Math.min(failures.firstSeenMillis, failure.millis);
+            failures.lastSeenMillis = Math.max(failures.lastSeenMillis, failure.millis);
+            if (offenderThreshold <= failures.count) {
+                offenders.put(failure.ipAddress, failures.toIpFailures(failure.ipAddress));
+            }
+        }
+        batch.clear();
+    }
+
+    private void endWindow() {
+        Map<String, IpFailures> windowOffenders = new HashMap<>();
+        if (!window.isEmpty()) {
+            long failures = 0;
+            List<IpFailures> ipFailures = new ArrayList<>(window.size());
+            for (Map.Entry<String, WindowFailures> entry : window.entrySet()) {
+                IpFailures failuresOfIp = entry.getValue().toIpFailures(entry.getKey());
+                ipFailures.add(failuresOfIp);
+                failures += failuresOfIp.count();
+                if (offenderThreshold <= failuresOfIp.count()) {
+                    windowOffenders.put(entry.getKey(), failuresOfIp);
+                }
+            }
+            ipFailures.sort(BY_COUNT);
+            logger.info("{} auth failures from {} remote IP addresses, top offenders: {}",
+                    failures, window.size(), ipFailures.subList(0, Math.min(loggedOffenders, ipFailures.size())));
+        }
+        if (0 < uncountedFailures) {
+            logger.warn("{} auth failures have not been counted because {} remote IP addresses were counted already.",
+                    uncountedFailures, maxIpsPerWindow);
+            uncountedFailures = 0;
+        }
+        long dropped = droppedFailures.get() - loggedDroppedFailures;
+        loggedDroppedFailures += dropped;
+        if (0 < dropped) {
+            logger.warn("{} auth failures have been dropped because the audit queue was full.", dropped);
+        }
+        for (String ipAddress : previousOffenders.keySet()) {
+            if (!windowOffenders.containsKey(ipAddress)) {
+                offenders.remove(ipAddress);
+            }
+        }
+        previousOffenders = windowOffenders;
+        window.clear();
+        windowStartMillis = System.currentTimeMillis();
+    }
+
+    private static final class Failure {
+        private final String ipAddress;
+        private final long millis;
+
+        private Failure(String ipAddress, long millis) {
+            this.ipAddress = ipAddress;
+            this.millis = millis;
+        }
+    }
+
+    private static final class WindowFailures {
+        private int count;
+        private long firstSeenMillis;
+        private long lastSeenMillis;
+
+        private WindowFailures(long millis) {
+            this.firstSeenMillis = millis;
+            this.lastSeenMillis = millis;
+        }
+
+        private IpFailures toIpFailures(String ipAddress) {
+            return new IpFailures(ipAddress, count, firstSeenMillis, lastSeenMillis);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package net.mirwaldt.bowling.scorecard.webapp.security;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers successful authentications of a delegate like a {@link org.springframework.security.authentication.dao.DaoAuthenticationProvider}
+ * for a while, so that BCrypt runs once per login instead of once per request of a client which sends
+ * HTTP Basic credentials with every request.
+ * <p>
+ * The cache holds the SHA-256 digests of username and password, never the passwords themselves.
+ * It is bounded by evicting the least recently used entry and an entry expires after its time to live,
+ * which is also how long a changed password or a disabled user may still be accepted.
+ * Failed authentications are not cached, so a wrong password always goes to the delegate.
+ * <p>
+ * Only the principal and the authorities of an authentication are cached. Every hit returns a new
+ * {@link UsernamePasswordAuthenticationToken} with the details of its request, because the caller
+ * like the {@link org.springframework.security.authentication.ProviderManager} copies details into it
+ * and erases its credentials.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+    private final AuthenticationProvider delegate;
+    private final long ttlNanos;
+    private final Map<String, CachedAuthentication> cache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, long ttl, TimeUnit unit, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("The number of entries must be at least 1 but not " + maxEntries);
+        }
+        this.delegate = delegate;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.cache = new LinkedHashMap<String, CachedAuthentication>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAuthentication> eldest) {
+                return maxEntries < size();
+            }
+        };
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+        String key = digest(authentication.getName(), authentication.getCredentials().toString());
+        long now = System.nanoTime();
+        synchronized (cache) {
+            CachedAuthentication cached = cache.get(key);
+            if (cached != null) {
+                if (now - cached.expiresAt < 0) {
+                    return cached.authenticate(authentication);
+                }
+                cache.remove(key);
+            }
+        }
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            synchronized (cache) {
+                cache.put(key, new CachedAuthentication(result.getPrincipal(), result.getAuthorities(), now + ttlNanos));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication) && delegate.supports(authentication);
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private static String digest(String username, String password) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(username.getBytes(StandardCharsets.UTF_8));
+            sha256.update((byte) 0);
+            return Base64.getEncoder().encodeToString(sha256.digest(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CachedAuthentication {
+        private final Object principal;
+        private final Collection<? extends GrantedAuthority> authorities;
+        private final long expiresAt;
+
+        private CachedAuthentication(Object principal, Collection<? extends GrantedAuthority> authorities,
+                                     long expiresAt) {
+            this.principal = principal;
+            this.authorities = authorities;
+            this.expiresAt = expiresAt;
+        }
+
+        private Authentication authenticate(Authentication authentication) {
+            UsernamePasswordAuthenticationToken result =
+                    new UsernamePasswordAuthenticationToken(principal, authentication.getCredentials(), authorities);
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+    }
+}
@@ -4,13 +4,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Securing vaadin:
@@ -22,11 +28,26 @@ public class CustomWebSecurityConfigurerAdapter extends WebSecurityConfigurerAda
     @Value("${runsOnServer:true}")
     private String runsOnServer;
 
+    @Value("${security.authentication-cache.ttl-seconds:300}")
+    private long authenticationCacheTtlSeconds;
+
+    @Value("${security.authentication-cache.max-entries:1024}")
+    private int authenticationCacheMaxEntries;
+
+    @Autowired
+    private AuthFailureAuditor authFailureAuditor;
+
     @Autowired
     public void configureGlobal(AuthenticationManagerBuilder auth) throws Exception {
-        auth.inMemoryAuthentication()
-                .withUser("Me").password(passwordEncoder().encode("123456"))
-                .authorities("ROLE_USER");
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(
+                User.withUsername("Me").password(passwordEncoder().encode("123456"))
+                        .authorities("ROLE_USER").build());
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider();
+        daoProvider.setUserDetailsService(users);
+        daoProvider.setPasswordEncoder(passwordEncoder());
+        // BCrypt only runs for the first request of a login and not for every request with HTTP Basic credentials.
+        auth.authenticationProvider(new CachingAuthenticationProvider(daoProvider,
+                authenticationCacheTtlSeconds, TimeUnit.SECONDS, authenticationCacheMaxEntries));
     }
 
     @Override
@@ -46,7 +67,10 @@ public class CustomWebSecurityConfigurerAdapter extends WebSecurityConfigurerAda
                     // Allow all requests by logged in users.
                     .anyRequest().authenticated()
 
-                    .and().httpBasic();
+                    .and().httpBasic()
+
+                    // Reject the credentials of repeated offenders before BCrypt checks them.
+                    .and().addFilterBefore(new OffenderFilter(authFailureAuditor), BasicAuthenticationFilter.class);
         } else {
             http.csrf().disable().authorizeRequests().anyRequest().permitAll();
         }
@@ -0,0 +1,39 @@
+package net.mirwaldt.bowling.scorecard.webapp.security;
+
+/**
+ * The authentication failures of one remote IP address within a window of {@link AuthFailureAuditor}.
+ */
+public class IpFailures {
+    private final String ipAddress;
+    private final int count;
+    private final long firstSeenMillis;
+    private final long lastSeenMillis;
+
+    IpFailures(String ipAddress, int count, long firstSeenMillis, long lastSeenMillis) {
+        this.ipAddress = ipAddress;
+        this.count = count;
+        this.firstSeenMillis = firstSeenMillis;
+        this.lastSeenMillis = lastSeenMillis;
+    }
+
+    public String ipAddress() {
+        return ipAddress;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long firstSeenMillis() {
+        return firstSeenMillis;
+    }
+
+    public long lastSeenMillis() {
+        return lastSeenMillis;
+    }
+
+    @Override
+    public String toString() {
+        return ipAddress + ": " + count + " failures from " + firstSeenMillis + " to " + lastSeenMillis;
+    }
+}
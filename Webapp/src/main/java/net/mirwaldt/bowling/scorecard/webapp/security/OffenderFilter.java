@@ -0,0 +1,34 @@
+package net.mirwaldt.bowling.scorecard.webapp.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Rejects the credentials of offenders of {@link AuthFailureAuditor} by 429 before their passwords are checked.
+ * Requests without credentials pass, e.g. those of a logged in session behind the same address.
+ */
+public class OffenderFilter extends OncePerRequestFilter {
+    private final AuthFailureAuditor auditor;
+
+    public OffenderFilter(AuthFailureAuditor auditor) {
+        this.auditor = auditor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                && auditor.isOffender(auditor.remoteAddress(request))) {
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many authentication failures");
+        } else {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
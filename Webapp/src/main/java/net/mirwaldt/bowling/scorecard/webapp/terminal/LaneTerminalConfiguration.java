@@ -0,0 +1,38 @@
+package net.mirwaldt.bowling.scorecard.webapp.terminal;
+
+import net.mirwaldt.bowling.scorecard.lane.LaneRuntime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Provides the WebSocket endpoint /terminals by which lane terminals roll.
+ */
+@Configuration
+@EnableWebSocket
+public class LaneTerminalConfiguration implements WebSocketConfigurer {
+    private final LaneRuntime laneRuntime;
+    private final String[] allowedOrigins;
+    private final int senderThreads;
+
+    public LaneTerminalConfiguration(LaneRuntime laneRuntime,
+                                     @Value("${terminals.allowed-origins:}") String[] allowedOrigins,
+                                     @Value("${terminals.sender-threads:2}") int senderThreads) {
+        this.laneRuntime = laneRuntime;
+        this.allowedOrigins = allowedOrigins;
+        this.senderThreads = senderThreads;
+    }
+
+    @Bean(destroyMethod = "close")
+    public LaneTerminalWebSocketHandler laneTerminalWebSocketHandler() {
+        return new LaneTerminalWebSocketHandler(laneRuntime, senderThreads);
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(laneTerminalWebSocketHandler(), "/terminals").setAllowedOrigins(allowedOrigins);
+    }
+}
@@ -0,0 +1,184 @@
+package net.mirwaldt.bowling.scorecard.webapp.terminal;
+
+import net.mirwaldt.bowling.scorecard.BowlingGameScorecardCodec;
+import net.mirwaldt.bowling.scorecard.lane.LaneRoll;
+import net.mirwaldt.bowling.scorecard.lane.LaneRuntime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.mirwaldt.bowling.scorecard.BowlingGameScorecardCodec.SCORECARD_SIZE;
+
+/**
+ * Lets lane terminals roll by a compact binary protocol in little endian instead of the round trips of the UI.
+ * <p>
+ * A terminal sends a roll as game id (8 bytes) | sequence (4 bytes) | pins (1 byte).
+ * It receives game id (8 bytes) | next sequence (4 bytes) | status (1 byte) | scorecard (34 bytes)
+ * where the next sequence is the one the next roll of the game must have,
+ * the status is {@link net.mirwaldt.bowling.scorecard.BowlingGame#ROLL_OK} or the reason why the roll has been rejected
+ * and the scorecard is written by {@link BowlingGameScorecardCodec}.
+ * A roll whose sequence the game has already had is rejected by {@link LaneRuntime#ROLL_DUPLICATE},
+ * so that a terminal can retry a roll whose reply it has not got, and one which is ahead by
+ * {@link LaneRuntime#ROLL_OUT_OF_ORDER}. Both replies tell the terminal the sequence to go on with.
+ * <p>
+ * The reply is sent from the completion of the roll when the roll is durable, so no container thread waits for it.
+ * The completions run on the sender threads of the handler and not on the thread of a shard or of the journal,
+ * because a send blocks until the socket has taken the reply and a slow terminal must not stall other games.
+ * The replies of a session are queued and sent one after the other by the sender thread which finds the session idle.
+ * Every session encodes them into a few buffers of its own which are reused once they have been sent,
+ * so a reply allocates no buffer. A session with more than {@link #MAX_PENDING_REPLIES} unsent replies
+ * is closed with {@link CloseStatus#SESSION_NOT_RELIABLE} and a message of another size with
+ * {@link CloseStatus#BAD_DATA}.
+ */
+public class LaneTerminalWebSocketHandler extends BinaryWebSocketHandler implements AutoCloseable {
+    public static final int ROLL_SIZE = 13;
+    public static final int REPLY_SIZE = 13 + SCORECARD_SIZE;
+    public static final int MAX_PENDING_REPLIES = 64;
+
+    private static final Logger logger = LoggerFactory.getLogger(LaneTerminalWebSocketHandler.class);
+    private static final String TERMINAL = LaneTerminalWebSocketHandler.class.getName() + ".terminal";
+
+    private final LaneRuntime laneRuntime;
+    private final ExecutorService senders;
+
+    /**
+     * @param senderThreads the number of threads which complete the rolls and send the replies
+     */
+    public LaneTerminalWebSocketHandler(LaneRuntime laneRuntime, int senderThreads) {
+        this.laneRuntime = laneRuntime;
+        AtomicInteger senderIndex = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "terminal-reply-sender-" + senderIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        session.getAttributes().put(TERMINAL, new Terminal(session));
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws IOException {
+        ByteBuffer roll = message.getPayload().order(ByteOrder.LITTLE_ENDIAN);
+        if (roll.remaining() != ROLL_SIZE) {
+            session.close(CloseStatus.BAD_DATA.withReason("A roll must have " + ROLL_SIZE + " bytes."));
+            return;
+        }
+        long gameId = roll.getLong();
+        int sequence = roll.getInt();
+        int pins = roll.get();
+
+        Terminal terminal = (Terminal) session.getAttributes().get(TERMINAL);
+        laneRuntime.tryRoll(gameId, sequence, pins).whenCompleteAsync((laneRoll, e) -> {
+            if (e != null) {
+                logger.error("Rolling {} in game {} has failed.", pins, gameId, e);
+                terminal.close(CloseStatus.SERVER_ERROR);
+            } else {
+                terminal.reply(gameId, laneRoll);
+            }
+        }, senders);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        logger.debug("The connection of terminal session {} has failed.", session.getId(), exception);
+    }
+
+    @Override
+    public void close() {
+        senders.shutdownNow();
+    }
+
+    /**
+     * A reply whose buffer and message are reused, the message wraps the buffer.
+     */
+    private static final class Reply {
+        private final ByteBuffer buffer = ByteBuffer.allocate(REPLY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final BinaryMessage message = new BinaryMessage(buffer);
+    }
+
+    private static final class Terminal {
+        private final WebSocketSession session;
+        private final BowlingGameScorecardCodec codec = new BowlingGameScorecardCodec();
+        private final BlockingQueue<Reply> freeReplies = new ArrayBlockingQueue<>(MAX_PENDING_REPLIES);
+        private final BlockingQueue<Reply> pendingReplies = new ArrayBlockingQueue<>(MAX_PENDING_REPLIES);
+        private final AtomicBoolean isSending = new AtomicBoolean();
+
+        private Terminal(WebSocketSession session) {
+            this.session = session;
+        }
+
+        private void reply(long gameId, LaneRoll laneRoll) {
+            Reply reply = freeReplies.poll();
+            if (reply == null) {
+                reply = new Reply();
+            }
+            ByteBuffer buffer = reply.buffer;
+            buffer.clear();
+            buffer.putLong(gameId).putInt(laneRoll.nextSequence()).put((byte) laneRoll.status());
+            synchronized (codec) {
+                codec.encode(laneRoll.snapshot(), buffer);
+            }
+            buffer.flip();
+            if (!pendingReplies.offer(reply)) {
+                logger.debug("Terminal session {} has too many unsent replies.", session.getId());
+                close(CloseStatus.SESSION_NOT_RELIABLE);
+                return;
+            }
+            sendPendingReplies();
+        }
+
+        /**
+         * Sends the pending replies unless another thread does it already. A reply queued by another thread
+         * after the last poll but before the flag is cleared is sent by the check after clearing it.
+         */
+        private void sendPendingReplies() {
+            while (!pendingReplies.isEmpty() && isSending.compareAndSet(false, true)) {
+                try {
+                    Reply reply;
+                    while ((reply = pendingReplies.poll()) != null) {
+                        send(reply);
+                        freeReplies.offer(reply);
+                    }
+                } finally {
+                    isSending.set(false);
+                }
+            }
+        }
+
+        private void send(Reply reply) {
+            if (!session.isOpen()) {
+                return;
+            }
+            try {
+                session.sendMessage(reply.message);
+            } catch (IOException | RuntimeException e) {
+                logger.debug("The reply to terminal session {} has not been sent.", session.getId(), e);
+                close(CloseStatus.SESSION_NOT_RELIABLE);
+            }
+        }
+
+        private void close(CloseStatus status) {
+            try {
+                session.close(status);
+            } catch (IOException e) {
+                logger.debug("Terminal session {} has not been closed.", session.getId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package net.mirwaldt.bowling.scorecard.webapp.api;
+
+import net.mirwaldt.bowling.scorecard.lane.LaneRuntime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameRestControllerTest {
+    private final LaneRuntime runtime = new LaneRuntime(2);
+    private final GameRestController controller = new GameRestController(runtime);
+
+    @AfterEach
+    void close() throws InterruptedException {
+        runtime.close();
+    }
+
+    @DisplayName("when a game is polled, then its scorecard is returned with the ETag of its rolls")
+    @Test
+    void whenAGameIsPolled_thenItsScorecardIsReturnedWithTheETagOfItsRolls() {
+        runtime.roll(7, 10).join();
+        runtime.roll(7, 7).join();
+
+        ResponseEntity<String> response = controller.game(7, request(null));
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("{\"gameId\":7,\"frame\":2,\"rollInFrame\":1,\"over\":false,\"rolls\":[10,7],\"scores\":[17,24]}",
+                response.getBody());
+        assertEquals(GameRestController.eTag(runtime.snapshot(7).join()), response.getHeaders().getETag());
+    }
+
+    @DisplayName("when an unchanged game is polled with its ETag, then no scorecard is returned")
+    @Test
+    void whenAnUnchangedGameIsPolledWithItsETag_thenNoScorecardIsReturned() {
+        runtime.roll(7, 3).join();
+        String eTag = controller.game(7, request(null)).getHeaders().getETag();
+
+        assertNull(controller.game(7, request(eTag)));
+
+        runtime.roll(7, 4).join();
+        ResponseEntity<String> response = controller.game(7, request(eTag));
+        assertNotNull(response);
+        assertNotEquals(eTag, response.getHeaders().getETag());
+    }
+
+    @DisplayName("when a game does not exist, then 404 is returned")
+    @Test
+    void whenAGameDoesNotExist_thenNotFoundIsReturned() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> controller.game(8, request(null)));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @DisplayName("when pins are rolled, then the scorecard right after the roll is returned")
+    @Test
+    void whenPinsAreRolled_thenTheScorecardRightAfterTheRollIsReturned() {
+        ResponseEntity<String> response = controller.roll(7, 4);
+        assertEquals("{\"gameId\":7,\"frame\":1,\"rollInFrame\":1,\"over\":false,\"rolls\":[4],\"scores\":[4]}",
+                response.getBody());
+        assertEquals(GameRestController.eTag(runtime.snapshot(7).join()), response.getHeaders().getETag());
+
+        response = controller.rolls(7, new int[]{5, 10});
+        assertEquals("{\"gameId\":7,\"frame\":2,\"rollInFrame\":1,\"over\":false,\"rolls\":[4,5,10],"
+                + "\"scores\":[9,19]}", response.getBody());
+    }
+
+    @DisplayName("when a roll is rejected, then 422 is returned and the game is unchanged")
+    @Test
+    void whenARollIsRejected_thenUnprocessableEntityIsReturnedAndTheGameIsUnchanged() {
+        controller.roll(7, 6);
+        String eTag = GameRestController.eTag(runtime.snapshot(7).join());
+
+        assertUnprocessable(() -> controller.roll(7, 11));
+        assertUnprocessable(() -> controller.roll(7, 5));
+        assertUnprocessable(() -> controller.rolls(7, new int[]{4, 10, 11}));
+        assertEquals(eTag, GameRestController.eTag(runtime.snapshot(7).join()));
+
+        controller.rolls(7, new int[]{4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        assertUnprocessable(() -> controller.roll(7, 0));
+    }
+
+    private static void assertUnprocessable(Runnable roll) {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, roll::run);
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+    }
+
+    /**
+     * Returns a request which is not modified if its If-None-Match is the ETag of the game.
+     */
+    private static WebRequest request(String ifNoneMatch) {
+        return (WebRequest) Proxy.newProxyInstance(WebRequest.class.getClassLoader(), new Class<?>[]{WebRequest.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("checkNotModified") && args.length == 1 && args[0] instanceof String) {
+                        return args[0].equals(ifNoneMatch);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
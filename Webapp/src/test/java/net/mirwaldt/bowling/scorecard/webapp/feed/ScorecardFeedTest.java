@@ -0,0 +1,244 @@
+package net.mirwaldt.bowling.scorecard.webapp.feed;
+
+import net.mirwaldt.bowling.scorecard.lane.LaneRuntime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScorecardFeedTest {
+    private static final long WINDOW_MILLIS = 50;
+    private static final String EMPTY_GAME_1 =
+            "{\"gameId\":1,\"frame\":0,\"rollInFrame\":0,\"over\":false,\"rolls\":[],\"scores\":[]}";
+
+    private final LaneRuntime runtime = new LaneRuntime(2);
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private final ScorecardFeed feed = new ScorecardFeed(runtime, WINDOW_MILLIS, 2, 0) {
+        @Override
+        SseEmitter createEmitter() {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @AfterEach
+    void close() throws InterruptedException {
+        feed.close();
+        runtime.close();
+    }
+
+    @DisplayName("when games are subscribed, then the first message contains their current scorecards")
+    @Test
+    void whenGamesAreSubscribed_thenTheFirstMessageContainsTheirCurrentScorecards() throws InterruptedException {
+        runtime.open(1).join();
+        runtime.roll(2, 10).join();
+        feed.subscribe(1, 2);
+        RecordingEmitter emitter = emitters.get(0);
+
+        awaitUntil(() -> emitter.messages().size() == 1);
+        // The games are observed concurrently, so their order in the message is not defined.
+        String strike = "{\"gameId\":2,\"frame\":1,\"rollInFrame\":1,\"over\":false,\"rolls\":[10],\"scores\":[10]}";
+        String message = emitter.messages().get(0);
+        assertTrue(message.equals("[" + EMPTY_GAME_1 + "," + strike + "]")
+                || message.equals("[" + strike + "," + EMPTY_GAME_1 + "]"), message);
+        assertEquals(2, feed.subscribedGames());
+    }
+
+    @DisplayName("when a game changes many times in a window, then only its latest scorecard is sent")
+    @Test
+    void whenAGameChangesManyTimesInAWindow_thenOnlyItsLatestScorecardIsSent() throws InterruptedException {
+        runtime.open(1).join();
+        feed.subscribe(1);
+        RecordingEmitter emitter = emitters.get(0);
+        awaitUntil(() -> emitter.messages().size() == 1);
+
+        // The shard waits until all rolls are queued, so that they change the game at once.
+        CountDownLatch rollsQueued = new CountDownLatch(1);
+        runtime.read(1, game -> {
+            awaitQuietly(rollsQueued);
+            return null;
+        });
+        List<CompletableFuture<Void>> rolls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            rolls.add(runtime.roll(1, 1));
+        }
+        rollsQueued.countDown();
+        CompletableFuture.allOf(rolls.toArray(new CompletableFuture<?>[0])).join();
+
+        awaitUntil(() -> emitter.messages().size() == 2);
+        Thread.sleep(3 * WINDOW_MILLIS);
+        assertEquals(2, emitter.messages().size());
+        assertEquals("[{\"gameId\":1,\"frame\":2,\"rollInFrame\":2,\"over\":false,\"rolls\":[1,1,1,1],"
+                + "\"scores\":[2,4]}]", emitter.messages().get(1));
+    }
+
+    @DisplayName("when a game is subscribed again, then only the new subscriber gets its current scorecard")
+    @Test
+    void whenAGameIsSubscribedAgain_thenOnlyTheNewSubscriberGetsItsCurrentScorecard() throws InterruptedException {
+        runtime.open(1).join();
+        feed.subscribe(1);
+        RecordingEmitter first = emitters.get(0);
+        awaitUntil(() -> first.messages().size() == 1);
+
+        feed.subscribe(1);
+        RecordingEmitter second = emitters.get(1);
+        awaitUntil(() -> second.messages().size() == 1);
+        Thread.sleep(3 * WINDOW_MILLIS);
+
+        assertEquals("[" + EMPTY_GAME_1 + "]", second.messages().get(0));
+        assertEquals(1, first.messages().size());
+        assertEquals(1, feed.subscribedGames());
+    }
+
+    @DisplayName("when a subscriber is slow, then the intermediate scorecards are dropped")
+    @Test
+    void whenASubscriberIsSlow_thenTheIntermediateScorecardsAreDropped() throws InterruptedException {
+        runtime.open(1).join();
+        feed.subscribe(1);
+        RecordingEmitter emitter = emitters.get(0);
+        awaitUntil(() -> emitter.messages().size() == 1);
+
+        // The send of the first roll blocks until the later rolls have been flushed.
+        CountDownLatch sent = new CountDownLatch(1);
+        emitter.gate = sent;
+        for (int pins = 1; pins <= 3; pins++) {
+            runtime.roll(1, pins).join();
+            Thread.sleep(2 * WINDOW_MILLIS);
+        }
+        sent.countDown();
+
+        awaitUntil(() -> emitter.messages().size() == 3);
+        Thread.sleep(3 * WINDOW_MILLIS);
+        assertEquals(3, emitter.messages().size());
+        assertEquals("[{\"gameId\":1,\"frame\":1,\"rollInFrame\":1,\"over\":false,\"rolls\":[1],"
+                + "\"scores\":[1]}]", emitter.messages().get(1));
+        assertEquals("[{\"gameId\":1,\"frame\":2,\"rollInFrame\":1,\"over\":false,\"rolls\":[1,2,3],"
+                + "\"scores\":[3,6]}]", emitter.messages().get(2));
+    }
+
+    @DisplayName("when a subscription is completed, then its games are not fed anymore")
+    @Test
+    void whenASubscriptionIsCompleted_thenItsGamesAreNotFedAnymore() throws InterruptedException {
+        runtime.open(1).join();
+        runtime.open(2).join();
+        feed.subscribe(1, 2);
+        feed.subscribe(2);
+        awaitUntil(() -> emitters.get(0).messages().size() == 1 && emitters.get(1).messages().size() == 1);
+
+        emitters.get(0).complete();
+        assertEquals(1, feed.subscribedGames());
+        runtime.roll(1, 5).join();
+        runtime.roll(2, 5).join();
+        awaitUntil(() -> emitters.get(1).messages().size() == 2);
+        assertEquals(1, emitters.get(0).messages().size());
+
+        emitters.get(1).complete();
+        assertEquals(0, feed.subscribedGames());
+    }
+
+    @DisplayName("when a game is removed, then its subscriptions are completed and a new game is fed again")
+    @Test
+    void whenAGameIsRemoved_thenItsSubscriptionsAreCompletedAndANewGameIsFedAgain() throws InterruptedException {
+        runtime.roll(1, 9).join();
+        feed.subscribe(1);
+        RecordingEmitter emitter = emitters.get(0);
+        awaitUntil(() -> emitter.messages().size() == 1);
+
+        runtime.remove(1).join();
+        awaitUntil(emitter::isCompleted);
+        assertEquals(0, feed.subscribedGames());
+
+        runtime.open(1).join();
+        feed.subscribe(1);
+        RecordingEmitter next = emitters.get(1);
+        awaitUntil(() -> next.messages().size() == 1);
+        runtime.roll(1, 4).join();
+        awaitUntil(() -> next.messages().size() == 2);
+        assertFalse(next.isCompleted());
+    }
+
+    @DisplayName("when a game does not exist, then its subscription is completed")
+    @Test
+    void whenAGameDoesNotExist_thenItsSubscriptionIsCompleted() throws InterruptedException {
+        assertFalse(feed.hasGames(3));
+        feed.subscribe(3);
+        awaitUntil(emitters.get(0)::isCompleted);
+        assertEquals(0, feed.subscribedGames());
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "The condition has not been met in time.");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Records the JSON data of the events instead of writing them to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> messages = new ArrayList<>();
+        private final List<Runnable> completionCallbacks = new ArrayList<>();
+        private volatile CountDownLatch gate;
+        private volatile boolean isCompleted;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            CountDownLatch currentGate = gate;
+            if (currentGate != null) {
+                awaitQuietly(currentGate);
+            }
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (MediaType.APPLICATION_JSON.equals(data.getMediaType())) {
+                    synchronized (messages) {
+                        messages.add((String) data.getData());
+                    }
+                }
+            }
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            completionCallbacks.add(callback);
+        }
+
+        @Override
+        public synchronized void complete() {
+            isCompleted = true;
+            for (Runnable callback : completionCallbacks) {
+                callback.run();
+            }
+        }
+
+        private List<String> messages() {
+            synchronized (messages) {
+                return new ArrayList<>(messages);
+            }
+        }
+
+        private boolean isCompleted() {
+            return isCompleted;
+        }
+    }
+}
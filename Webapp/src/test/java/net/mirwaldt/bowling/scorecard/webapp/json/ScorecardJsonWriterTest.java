@@ -0,0 +1,61 @@
+package net.mirwaldt.bowling.scorecard.webapp.json;
+
+import net.mirwaldt.bowling.scorecard.BowlingGameSnapshot;
+import net.mirwaldt.bowling.scorecard.PackedBowlingGame;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScorecardJsonWriterTest {
+    private final ScorecardJsonWriter writer = new ScorecardJsonWriter();
+
+    @DisplayName("when a game has no rolls, then its scorecard has empty arrays")
+    @Test
+    void whenAGameHasNoRolls_thenItsScorecardHasEmptyArrays() {
+        assertEquals("{\"gameId\":1,\"frame\":0,\"rollInFrame\":0,\"over\":false,\"rolls\":[],\"scores\":[]}",
+                write(1, BowlingGameSnapshot.EMPTY));
+    }
+
+    @DisplayName("when a game has rolls, then its scorecard has the rolls and the scores of its frames")
+    @Test
+    void whenAGameHasRolls_thenItsScorecardHasTheRollsAndTheScoresOfItsFrames() {
+        assertEquals("{\"gameId\":7,\"frame\":3,\"rollInFrame\":1,\"over\":false,\"rolls\":[10,7,3,4],"
+                + "\"scores\":[20,34,38]}", write(7, snapshot(10, 7, 3, 4)));
+    }
+
+    @DisplayName("when a game is over, then its scorecard says so and has all ten scores")
+    @Test
+    void whenAGameIsOver_thenItsScorecardSaysSoAndHasAllTenScores() {
+        assertEquals("{\"gameId\":-2,\"frame\":10,\"rollInFrame\":3,\"over\":true,"
+                        + "\"rolls\":[10,10,10,10,10,10,10,10,10,10,10,10],"
+                        + "\"scores\":[30,60,90,120,150,180,210,240,270,300]}",
+                write(-2, snapshot(10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10)));
+    }
+
+    @DisplayName("when a writer writes several scorecards, then they are appended without leftovers")
+    @Test
+    void whenAWriterWritesSeveralScorecards_thenTheyAreAppendedWithoutLeftovers() {
+        StringBuilder out = new StringBuilder();
+        writer.write(out, 1, snapshot(9, 1, 5));
+        out.append(',');
+        writer.write(out, 2, snapshot(3));
+        assertEquals("{\"gameId\":1,\"frame\":2,\"rollInFrame\":1,\"over\":false,\"rolls\":[9,1,5],\"scores\":[15,20]},"
+                + "{\"gameId\":2,\"frame\":1,\"rollInFrame\":1,\"over\":false,\"rolls\":[3],\"scores\":[3]}",
+                out.toString());
+    }
+
+    private String write(long gameId, BowlingGameSnapshot snapshot) {
+        StringBuilder out = new StringBuilder();
+        writer.write(out, gameId, snapshot);
+        return out.toString();
+    }
+
+    private static BowlingGameSnapshot snapshot(int... rolls) {
+        PackedBowlingGame game = new PackedBowlingGame();
+        for (int pins : rolls) {
+            game.roll(pins);
+        }
+        return game.snapshot();
+    }
+}
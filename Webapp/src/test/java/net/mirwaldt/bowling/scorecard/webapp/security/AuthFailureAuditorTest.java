@@ -0,0 +1,131 @@
+package net.mirwaldt.bowling.scorecard.webapp.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthFailureAuditorTest {
+    private static final long HOUR_MILLIS = 3_600_000;
+
+    @DisplayName("when an IP address reaches the threshold, then it is an offender")
+    @Test
+    void whenAnIpAddressReachesTheThreshold_thenItIsAnOffender() throws InterruptedException {
+        AuthFailureAuditor auditor = new AuthFailureAuditor(100, 10, HOUR_MILLIS, 3, 100, 10, Collections.emptyList());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(auditor.record("10.0.0.1"));
+        }
+        assertTrue(auditor.record("10.0.0.2"));
+        awaitUntil(() -> auditor.isOffender("10.0.0.1"));
+        auditor.close();
+
+        assertTrue(auditor.isOffender("10.0.0.1"));
+        assertFalse(auditor.isOffender("10.0.0.2"));
+        List<IpFailures> top = auditor.topOffenders(10);
+        assertEquals(1, top.size());
+        assertEquals("10.0.0.1", top.get(0).ipAddress());
+        assertEquals(3, top.get(0).count());
+    }
+
+    @DisplayName("when two windows pass without failures, then an offender is none anymore")
+    @Test
+    void whenTwoWindowsPassWithoutFailures_thenAnOffenderIsNoneAnymore() throws InterruptedException {
+        AuthFailureAuditor auditor = new AuthFailureAuditor(100, 10, 50, 2, 100, 10, Collections.emptyList());
+        try {
+            auditor.record("10.0.0.1");
+            auditor.record("10.0.0.1");
+            awaitUntil(() -> auditor.isOffender("10.0.0.1"));
+            awaitUntil(() -> !auditor.isOffender("10.0.0.1"));
+            assertTrue(auditor.topOffenders(10).isEmpty());
+        } finally {
+            auditor.close();
+        }
+    }
+
+    @DisplayName("when a window has counted the maximum of IP addresses, then the failures of further ones are not counted")
+    @Test
+    void whenAWindowHasCountedTheMaximumOfIpAddresses_thenTheFailuresOfFurtherOnesAreNotCounted()
+            throws InterruptedException {
+        AuthFailureAuditor auditor = new AuthFailureAuditor(100, 10, HOUR_MILLIS, 1, 1, 10, Collections.emptyList());
+        auditor.record("10.0.0.1");
+        auditor.record("10.0.0.2");
+        auditor.record("10.0.0.2");
+        auditor.close();
+
+        assertTrue(auditor.isOffender("10.0.0.1"));
+        assertFalse(auditor.isOffender("10.0.0.2"));
+    }
+
+    @DisplayName("when the queue is full, then failures are dropped and counted")
+    @Test
+    void whenTheQueueIsFull_thenFailuresAreDroppedAndCounted() throws InterruptedException {
+        AuthFailureAuditor auditor = new AuthFailureAuditor(1, 1, HOUR_MILLIS, 1_000_000, 100, 10, Collections.emptyList());
+        long dropped = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (!auditor.record("10.0.0.1")) {
+                dropped++;
+            }
+        }
+        auditor.close();
+
+        assertTrue(0 < dropped);
+        assertEquals(dropped, auditor.droppedFailures());
+    }
+
+    @DisplayName("when a request comes from a trusted proxy, then the right-most untrusted forwarded address is the remote one")
+    @Test
+    void whenARequestComesFromATrustedProxy_thenTheRightMostUntrustedForwardedAddressIsTheRemoteOne()
+            throws InterruptedException {
+        AuthFailureAuditor auditor = new AuthFailureAuditor(100, 10, HOUR_MILLIS, 3, 100, 10,
+                Arrays.asList("192.168.0.1", "192.168.0.2"));
+        auditor.close();
+
+        assertEquals("10.0.0.1", auditor.remoteAddress(request("10.0.0.1", "1.2.3.4")));
+        assertEquals("192.168.0.1", auditor.remoteAddress(request("192.168.0.1")));
+        assertEquals("10.0.0.1", auditor.remoteAddress(request("192.168.0.1", "1.2.3.4, 10.0.0.1")));
+        assertEquals("10.0.0.1", auditor.remoteAddress(request("192.168.0.1", "1.2.3.4, 10.0.0.1, 192.168.0.2")));
+        assertEquals("10.0.0.1", auditor.remoteAddress(request("192.168.0.1", "1.2.3.4", "10.0.0.1,192.168.0.2")));
+        assertEquals("192.168.0.2", auditor.remoteAddress(request("192.168.0.1", " 192.168.0.2 ,")));
+    }
+
+    @DisplayName("when an argument is invalid, then an IllegalArgumentException is thrown")
+    @Test
+    void whenAnArgumentIsInvalid_thenAnIllegalArgumentExceptionIsThrown() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AuthFailureAuditor(100, 0, HOUR_MILLIS, 3, 100, 10, Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AuthFailureAuditor(100, 10, 0, 3, 100, 10, Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AuthFailureAuditor(100, 10, HOUR_MILLIS, 3, 0, 10, Collections.emptyList()));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "The condition has not been met in time.");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Returns a request which only knows its remote address and its X-Forwarded-For headers.
+     */
+    private static HttpServletRequest request(String remoteAddress, String... forwardedFor) {
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getRemoteAddr")) {
+                        return remoteAddress;
+                    } else if (method.getName().equals("getHeaders") && "X-Forwarded-For".equals(args[0])) {
+                        return Collections.enumeration(Arrays.asList(forwardedFor));
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
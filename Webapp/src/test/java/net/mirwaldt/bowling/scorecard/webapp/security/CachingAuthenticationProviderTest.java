@@ -0,0 +1,113 @@
+package net.mirwaldt.bowling.scorecard.webapp.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingAuthenticationProviderTest {
+    private final CountingProvider delegate = new CountingProvider();
+
+    @DisplayName("when the same credentials authenticate again, then the delegate is not asked and a new token is returned")
+    @Test
+    void whenTheSameCredentialsAuthenticateAgain_thenTheDelegateIsNotAskedAndANewTokenIsReturned() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, 1, TimeUnit.HOURS, 10);
+        Authentication first = provider.authenticate(login("alice", "secret", "first"));
+        Authentication second = provider.authenticate(login("alice", "secret", "second"));
+
+        assertEquals(1, delegate.calls);
+        assertNotSame(first, second);
+        assertTrue(second.isAuthenticated());
+        assertEquals(first.getPrincipal(), second.getPrincipal());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        assertEquals("second", second.getDetails());
+    }
+
+    @DisplayName("when the time to live has passed, then the delegate is asked again")
+    @Test
+    void whenTheTimeToLiveHasPassed_thenTheDelegateIsAskedAgain() throws InterruptedException {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, 20, TimeUnit.MILLISECONDS, 10);
+        provider.authenticate(login("alice", "secret", null));
+        Thread.sleep(50);
+        provider.authenticate(login("alice", "secret", null));
+        assertEquals(2, delegate.calls);
+    }
+
+    @DisplayName("when there are more credentials than entries, then the least recently used ones are evicted")
+    @Test
+    void whenThereAreMoreCredentialsThanEntries_thenTheLeastRecentlyUsedOnesAreEvicted() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, 1, TimeUnit.HOURS, 2);
+        provider.authenticate(login("alice", "secret", null));
+        provider.authenticate(login("bob", "secret", null));
+        provider.authenticate(login("alice", "secret", null));
+        provider.authenticate(login("carol", "secret", null));
+        assertEquals(3, delegate.calls);
+        assertEquals(2, provider.size());
+
+        provider.authenticate(login("alice", "secret", null));
+        assertEquals(3, delegate.calls);
+        provider.authenticate(login("bob", "secret", null));
+        assertEquals(4, delegate.calls);
+    }
+
+    @DisplayName("when an authentication fails, then it is not cached")
+    @Test
+    void whenAnAuthenticationFails_thenItIsNotCached() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, 1, TimeUnit.HOURS, 10);
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(login("alice", "wrong", null)));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(login("alice", "wrong", null)));
+        assertEquals(2, delegate.calls);
+        assertEquals(0, provider.size());
+    }
+
+    @DisplayName("when the password differs, then the cached authentication is not used")
+    @Test
+    void whenThePasswordDiffers_thenTheCachedAuthenticationIsNotUsed() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, 1, TimeUnit.HOURS, 10);
+        provider.authenticate(login("alice", "secret", null));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(login("alice", "wrong", null)));
+        assertEquals(2, delegate.calls);
+    }
+
+    @DisplayName("when the number of entries is below 1, then an IllegalArgumentException is thrown")
+    @Test
+    void whenTheNumberOfEntriesIsBelow1_thenAnIllegalArgumentExceptionIsThrown() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingAuthenticationProvider(delegate, 1, TimeUnit.HOURS, 0));
+    }
+
+    private static Authentication login(String username, String password, Object details) {
+        UsernamePasswordAuthenticationToken login = new UsernamePasswordAuthenticationToken(username, password);
+        login.setDetails(details);
+        return login;
+    }
+
+    /**
+     * Accepts every password "secret" and counts how often it is asked.
+     */
+    private static final class CountingProvider implements AuthenticationProvider {
+        private int calls;
+
+        @Override
+        public Authentication authenticate(Authentication authentication) {
+            calls++;
+            if (!"secret".equals(authentication.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return new UsernamePasswordAuthenticationToken(authentication.getName(), authentication.getCredentials(),
+                    AuthorityUtils.createAuthorityList("ROLE_USER"));
+        }
+
+        @Override
+        public boolean supports(Class<?> authentication) {
+            return true;
+        }
+    }
+}